@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -12,6 +12,8 @@ package jakarta.xml.soap;
 
 import java.io.InputStream;
 import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 import jakarta.activation.DataHandler;
 
@@ -103,6 +105,9 @@ import jakarta.activation.DataHandler;
 
 public abstract class AttachmentPart {
 
+    // last parsed Content-Type
+    private ContentType parsedContentType;
+
     /**
      * Default constructor.
      */
@@ -345,10 +350,7 @@ public abstract class AttachmentPart {
      * @see #setContentId
      */
     public String getContentId() {
-        String[] values = getMimeHeader("Content-ID");
-        if (values != null && values.length > 0)
-            return values[0];
-        return null;
+        return getFirstMimeHeader(MimeHeaders.CONTENT_ID);
     }
 
     /**
@@ -359,10 +361,7 @@ public abstract class AttachmentPart {
      *          is none
      */
     public String getContentLocation() {
-        String[] values = getMimeHeader("Content-Location");
-        if (values != null && values.length > 0)
-            return values[0];
-        return null;
+        return getFirstMimeHeader(MimeHeaders.CONTENT_LOCATION);
     }
 
     /**
@@ -373,10 +372,31 @@ public abstract class AttachmentPart {
      *          is none
      */
     public String getContentType() {
-        String[] values = getMimeHeader("Content-Type");
-        if (values != null && values.length > 0)
-            return values[0];
-        return null;
+        return getFirstMimeHeader(MimeHeaders.CONTENT_TYPE);
+    }
+
+    /**
+     * Gets the parsed value of the MIME header whose name is "Content-Type".
+     * The value is parsed once and reused as long as
+     * {@link #getContentType()} returns the same value.
+     *
+     * @return the parsed content type, {@code null} if there is
+     *          no "Content-Type" header
+     * @exception IllegalArgumentException if the header value is not
+     *          a valid content type
+     * @see ContentType#parse(String)
+     * @since 3.1
+     */
+    public ContentType getParsedContentType() {
+        String value = getContentType();
+        if (value == null)
+            return null;
+        ContentType ct = parsedContentType;
+        if (ct == null || !ct.toString().equals(value)) {
+            ct = ContentType.parse(value);
+            parsedContentType = ct;
+        }
+        return ct;
     }
 
     /**
@@ -391,7 +411,7 @@ public abstract class AttachmentPart {
      */
     public void setContentId(String contentId)
     {
-        setMimeHeader("Content-ID", contentId);
+        setMimeHeader(MimeHeaders.CONTENT_ID, contentId);
     }
 
 
@@ -406,7 +426,7 @@ public abstract class AttachmentPart {
      */
     public void setContentLocation(String contentLocation)
     {
-        setMimeHeader("Content-Location", contentLocation);
+        setMimeHeader(MimeHeaders.CONTENT_LOCATION, contentLocation);
     }
 
     /**
@@ -420,7 +440,7 @@ public abstract class AttachmentPart {
      */
     public void setContentType(String contentType)
     {
-        setMimeHeader("Content-Type", contentType);
+        setMimeHeader(MimeHeaders.CONTENT_TYPE, contentType);
     }
 
     /**
@@ -436,6 +456,33 @@ public abstract class AttachmentPart {
      */
     public abstract void removeAllMimeHeaders();
 
+    /**
+     * Tells whether this {@code AttachmentPart} object has been modified since it
+     * was last saved by {@link SOAPMessage#saveChanges()}, so that saving
+     * the message can skip the parts which did not change.
+     * <p>
+     * The default implementation returns {@code true}, as it cannot know
+     * about modifications. Implementations which track modifications
+     * override this method together with {@link #clearModified()}.
+     *
+     * @return {@code true} if this attachment may have been modified
+     * @since 3.1
+     */
+    public boolean isModified() {
+        return true;
+    }
+
+    /**
+     * Marks this {@code AttachmentPart} object as not modified. Called by
+     * {@link SOAPMessage#saveChanges()} implementations once the
+     * changes have been saved. The default implementation does nothing.
+     *
+     * @see #isModified()
+     * @since 3.1
+     */
+    public void clearModified() {
+    }
+
 
     /**
      * Gets all the values of the header identified by the given
@@ -448,6 +495,62 @@ public abstract class AttachmentPart {
      */
     public abstract String[] getMimeHeader(String name);
 
+    /**
+     * Gets the first value of the header identified by the given
+     * {@code String}. The default implementation returns the first element
+     * of {@link #getMimeHeader(String)}; implementations should override it
+     * to avoid allocating the array.
+     *
+     * @param name the name of the header; example: "Content-Type"
+     * @return the first value of the specified header, {@code null}
+     *         if there is none
+     * @see #getMimeHeader
+     * @since 3.1
+     */
+    public String getFirstMimeHeader(String name) {
+        String[] values = getMimeHeader(name);
+        if (values != null && values.length > 0)
+            return values[0];
+        return null;
+    }
+
+    /**
+     * Performs the given action for each value of the header identified
+     * by the given {@code String}. The default implementation iterates
+     * over {@link #getMimeHeader(String)}; implementations should override
+     * it to avoid allocating the array.
+     *
+     * @param name the name of the header; example: "Content-Type"
+     * @param action the action to perform for each value
+     * @exception NullPointerException if the action is {@code null}
+     * @see #getMimeHeader
+     * @since 3.1
+     */
+    public void forEachMimeHeader(String name, Consumer<? super String> action) {
+        Objects.requireNonNull(action);
+        String[] values = getMimeHeader(name);
+        if (values != null) {
+            for (String value : values)
+                action.accept(value);
+        }
+    }
+
+    /**
+     * Gets the number of values of the header identified by the given
+     * {@code String}. The default implementation returns the length of
+     * {@link #getMimeHeader(String)}; implementations should override it
+     * to avoid allocating the array.
+     *
+     * @param name the name of the header; example: "Content-Type"
+     * @return the number of values of the specified header
+     * @see #getMimeHeader
+     * @since 3.1
+     */
+    public int getMimeHeaderCount(String name) {
+        String[] values = getMimeHeader(name);
+        return values == null ? 0 : values.length;
+    }
+
 
     /**
      * Changes the first header entry that matches the given name
@@ -515,4 +618,34 @@ public abstract class AttachmentPart {
      *           {@code Iterator} object.
      */
     public abstract Iterator<MimeHeader> getNonMatchingMimeHeaders(String[] names);
+
+    /**
+     * Retrieves all {@code MimeHeader} objects whose name is in the
+     * given set. The default implementation filters
+     * {@link #getAllMimeHeaders()}.
+     *
+     * @param names the names of the MIME headers to be returned
+     * @return  all the MIME headers whose name is in the given set
+     *          as an {@code Iterator} object
+     * @exception NullPointerException if {@code names} is {@code null}
+     * @since 3.1
+     */
+    public Iterator<MimeHeader> getMimeHeadersIn(HeaderNameSet names) {
+        return new MimeHeaders.MatchingIterator(Objects.requireNonNull(names), true, getAllMimeHeaders());
+    }
+
+    /**
+     * Retrieves all {@code MimeHeader} objects whose name is not in the
+     * given set. The default implementation filters
+     * {@link #getAllMimeHeaders()}.
+     *
+     * @param names the names of the MIME headers not to be returned
+     * @return  all the MIME headers in this {@code AttachmentPart} object
+     *          whose name is not in the given set as an {@code Iterator} object
+     * @exception NullPointerException if {@code names} is {@code null}
+     * @since 3.1
+     */
+    public Iterator<MimeHeader> getMimeHeadersNotIn(HeaderNameSet names) {
+        return new MimeHeaders.MatchingIterator(Objects.requireNonNull(names), false, getAllMimeHeaders());
+    }
 }
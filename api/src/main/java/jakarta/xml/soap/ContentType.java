@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The parsed value of a "Content-Type" MIME header, as defined by RFC 2045:
+ * a media type followed by parameters.
+ * <pre>
+ *   multipart/related; type="application/xop+xml"; boundary=uuid:0ca0e16e; start="&lt;root&gt;"
+ * </pre>
+ * Type, subtype and parameter names are case-insensitive and returned in
+ * lower case; parameter values are returned as they appear in the header,
+ * without quotes. {@code ContentType} objects are immutable.
+ *
+ * @see MimeHeaders#getParsedContentType()
+ * @see AttachmentPart#getParsedContentType()
+ * @since 3.1
+ */
+public final class ContentType {
+
+    private final String value;
+    private final String primaryType;
+    private final String subType;
+    private final String[] names;
+    private final String[] values;
+
+    private ContentType(String value, String primaryType, String subType, String[] names, String[] values) {
+        this.value = value;
+        this.primaryType = primaryType;
+        this.subType = subType;
+        this.names = names;
+        this.values = values;
+    }
+
+    /**
+     * Parses the value of a "Content-Type" MIME header.
+     *
+     * @param value the header value; example: {@code text/xml; charset=utf-8}
+     * @return the parsed content type
+     * @exception IllegalArgumentException if the value is not a valid content type
+     */
+    public static ContentType parse(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Content type is null");
+        }
+        int len = value.length();
+        int[] pos = {skipSpace(value, 0)};
+        String primaryType = token(value, pos);
+        if (pos[0] >= len || value.charAt(pos[0]) != '/') {
+            throw invalid(value);
+        }
+        pos[0]++;
+        String subType = token(value, pos);
+
+        List<String> names = new ArrayList<>(4);
+        List<String> values = new ArrayList<>(4);
+        pos[0] = skipSpace(value, pos[0]);
+        while (pos[0] < len) {
+            if (value.charAt(pos[0]) != ';') {
+                throw invalid(value);
+            }
+            pos[0] = skipSpace(value, pos[0] + 1);
+            if (pos[0] == len) {
+                // tolerate a trailing ';'
+                break;
+            }
+            String name = token(value, pos);
+            if (pos[0] >= len || value.charAt(pos[0]) != '=') {
+                throw invalid(value);
+            }
+            pos[0] = skipSpace(value, pos[0] + 1);
+            String v;
+            if (pos[0] < len && value.charAt(pos[0]) == '"') {
+                v = quoted(value, pos);
+            } else {
+                // be lenient, unquoted values seen in practice contain
+                // tspecials such as ':' or '/'
+                int start = pos[0];
+                while (pos[0] < len && value.charAt(pos[0]) > ' '
+                        && value.charAt(pos[0]) != ';' && value.charAt(pos[0]) != '"') {
+                    pos[0]++;
+                }
+                if (pos[0] == start) {
+                    throw invalid(value);
+                }
+                v = value.substring(start, pos[0]);
+            }
+            names.add(name);
+            values.add(v);
+            pos[0] = skipSpace(value, pos[0]);
+        }
+        return new ContentType(value, primaryType, subType,
+                names.toArray(new String[0]), values.toArray(new String[0]));
+    }
+
+    /**
+     * Returns the primary type; example: {@code multipart}.
+     *
+     * @return the primary type in lower case
+     */
+    public String getPrimaryType() {
+        return primaryType;
+    }
+
+    /**
+     * Returns the subtype; example: {@code related}.
+     *
+     * @return the subtype in lower case
+     */
+    public String getSubType() {
+        return subType;
+    }
+
+    /**
+     * Returns the media type without parameters; example: {@code multipart/related}.
+     *
+     * @return the media type in lower case
+     */
+    public String getBaseType() {
+        return primaryType + '/' + subType;
+    }
+
+    /**
+     * Tells whether the media type, without parameters, is the given one.
+     * The comparison ignores case.
+     *
+     * @param baseType the media type; example: {@code text/xml}
+     * @return {@code true} if the media type is the given one
+     */
+    public boolean isBaseType(String baseType) {
+        int len = primaryType.length();
+        return baseType != null
+                && baseType.length() == len + 1 + subType.length()
+                && baseType.regionMatches(true, 0, primaryType, 0, len)
+                && baseType.charAt(len) == '/'
+                && baseType.regionMatches(true, len + 1, subType, 0, subType.length());
+    }
+
+    /**
+     * Returns the value of the given parameter.
+     *
+     * @param name the parameter name, case-insensitive
+     * @return the value of the first parameter with the given name,
+     *         {@code null} if there is none
+     */
+    public String getParameter(String name) {
+        if (name != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].length() == name.length()
+                        && names[i].regionMatches(true, 0, name, 0, name.length())) {
+                    return values[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the names of all the parameters, in the order they appear.
+     *
+     * @return unmodifiable list of parameter names in lower case
+     */
+    public List<String> getParameterNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Returns the {@code boundary} parameter of a multipart content type.
+     *
+     * @return the boundary, {@code null} if there is none
+     */
+    public String getBoundary() {
+        return getParameter("boundary");
+    }
+
+    /**
+     * Returns the {@code charset} parameter.
+     *
+     * @return the charset, {@code null} if there is none
+     */
+    public String getCharset() {
+        return getParameter("charset");
+    }
+
+    /**
+     * Returns the {@code start} parameter of a {@code multipart/related}
+     * content type, the Content-ID of the root part.
+     *
+     * @return the start parameter, {@code null} if there is none
+     */
+    public String getStart() {
+        return getParameter("start");
+    }
+
+    /**
+     * Returns the {@code type} parameter of a {@code multipart/related}
+     * content type, the media type of the root part.
+     *
+     * @return the type parameter, {@code null} if there is none
+     */
+    public String getType() {
+        return getParameter("type");
+    }
+
+    /**
+     * Returns the {@code action} parameter of a SOAP 1.2 content type,
+     * which takes the role of the SOAPAction header of SOAP 1.1.
+     *
+     * @return the action parameter, {@code null} if there is none
+     */
+    public String getAction() {
+        return getParameter("action");
+    }
+
+    /**
+     * Returns the header value this content type was parsed from.
+     *
+     * @return the header value
+     */
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContentType)) {
+            return false;
+        }
+        ContentType that = (ContentType) o;
+        return value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    private static String token(String s, int[] pos) {
+        int start = pos[0];
+        int i = start;
+        while (i < s.length() && isTokenChar(s.charAt(i))) {
+            i++;
+        }
+        if (i == start) {
+            throw invalid(s);
+        }
+        pos[0] = skipSpace(s, i);
+        return lowerCase(s.substring(start, i));
+    }
+
+    private static String quoted(String s, int[] pos) {
+        StringBuilder sb = null;
+        int start = pos[0] + 1;
+        for (int i = start; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') {
+                pos[0] = i + 1;
+                return sb == null ? s.substring(start, i) : sb.toString();
+            }
+            if (c == '\\' && i + 1 < s.length()) {
+                if (sb == null) {
+                    sb = new StringBuilder(s.length() - start);
+                    sb.append(s, start, i);
+                }
+                c = s.charAt(++i);
+            }
+            if (sb != null) {
+                sb.append(c);
+            }
+        }
+        throw invalid(s);
+    }
+
+    private static int skipSpace(String s, int i) {
+        while (i < s.length() && (s.charAt(i) == ' ' || s.charAt(i) == '\t'
+                || s.charAt(i) == '\r' || s.charAt(i) == '\n')) {
+            i++;
+        }
+        return i;
+    }
+
+    // RFC 2045 token: any US-ASCII CHAR except SPACE, CTLs, or tspecials
+    private static boolean isTokenChar(char c) {
+        return c > ' ' && c < 0x7f && "()<>@,;:\\\"/[]?=".indexOf(c) < 0;
+    }
+
+    private static String lowerCase(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                char[] chars = s.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    if (chars[j] >= 'A' && chars[j] <= 'Z') {
+                        chars[j] += 'a' - 'A';
+                    }
+                }
+                return new String(chars);
+            }
+        }
+        return s;
+    }
+
+    private static IllegalArgumentException invalid(String value) {
+        return new IllegalArgumentException("Invalid content type: " + value);
+    }
+}
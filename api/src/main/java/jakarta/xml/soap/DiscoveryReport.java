@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes how the lookup procedure specified in {@link jakarta.xml.soap}
+ * located the implementation of a SAAJ factory. It records each step of
+ * the lookup procedure which was tried, how long it took and which
+ * implementation class has been chosen.
+ * <p>
+ * A report is created every time the full lookup procedure runs, lookups
+ * answered from the cache of previous lookups do not create a new one.
+ * Reports are obtained through {@link SAAJMetaFactory#getDiscoveryReport(Class)}.
+ * <p>
+ * Reports do not keep class loaders or classes reachable; once they are
+ * garbage collected, {@link #getClassLoader()}, {@link #getChosenClass()}
+ * and {@link #getLocation()} return {@code null}.
+ *
+ * @see SAAJMetaFactory#getDiscoveryReport(Class)
+ * @since 3.1
+ */
+public final class DiscoveryReport {
+
+    /**
+     * A step of the lookup procedure.
+     */
+    public enum Source {
+        /**
+         * System property with the same name as the factory class.
+         */
+        SYSTEM_PROPERTY,
+        /**
+         * The discovery index generated at build time.
+         */
+        INDEX,
+        /**
+         * The {@link java.util.ServiceLoader} facility.
+         */
+        SERVICE_LOADER,
+        /**
+         * The OSGi service loader (HK2 OSGi resource locator).
+         */
+        OSGI_SERVICE_LOADER,
+        /**
+         * The platform default implementation.
+         */
+        DEFAULT
+    }
+
+    /**
+     * Outcome of a single step of the lookup procedure.
+     */
+    public static final class Step {
+
+        private final Source source;
+        private final long durationNanos;
+        private final String className;
+        private final boolean failed;
+
+        Step(Source source, long durationNanos, String className, boolean failed) {
+            this.source = source;
+            this.durationNanos = durationNanos;
+            this.className = className;
+            this.failed = failed;
+        }
+
+        /**
+         * Returns the step of the lookup procedure.
+         *
+         * @return the step of the lookup procedure
+         */
+        public Source getSource() {
+            return source;
+        }
+
+        /**
+         * Returns how long the step took, including creation of the
+         * implementation instance, if any.
+         *
+         * @return the duration of the step in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Returns the name of the implementation class this step found.
+         *
+         * @return the class name, {@code null} if the step found nothing
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Tells whether the step ended with an error.
+         *
+         * @return {@code true} if the step ended with an error
+         */
+        public boolean isFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return source + " " + durationNanos + "ns "
+                    + (failed ? "failed" : className == null ? "not found" : className);
+        }
+    }
+
+    private final String factoryName;
+    private final WeakReference<ClassLoader> classLoader;
+    private final String classLoaderName;
+    private final List<Step> steps;
+    private final WeakReference<Class<?>> chosenClass;
+    private final String chosenClassName;
+    private final long durationNanos;
+
+    private DiscoveryReport(Recorder recorder, long durationNanos) {
+        this.factoryName = recorder.factoryClass.getName();
+        this.classLoader = new WeakReference<>(recorder.classLoader);
+        this.classLoaderName = String.valueOf(recorder.classLoader);
+        this.steps = Collections.unmodifiableList(new ArrayList<>(recorder.steps));
+        this.chosenClass = new WeakReference<>(recorder.chosenClass);
+        this.chosenClassName = recorder.chosenClass == null ? null : recorder.chosenClass.getName();
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Returns the name of the factory class that was looked up.
+     *
+     * @return the fully qualified name of the factory class
+     */
+    public String getFactoryName() {
+        return factoryName;
+    }
+
+    /**
+     * Returns the context class loader the lookup was performed with.
+     *
+     * @return the context class loader, {@code null} if there was none
+     *         or it has been garbage collected
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader.get();
+    }
+
+    /**
+     * Returns the steps of the lookup procedure which were tried,
+     * in the order they were tried.
+     *
+     * @return unmodifiable list of steps
+     */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the step which found the implementation.
+     *
+     * @return the winning step, {@code null} if no step found an implementation
+     */
+    public Step getChosenStep() {
+        if (chosenClassName != null) {
+            for (Step step : steps) {
+                if (chosenClassName.equals(step.getClassName())) {
+                    return step;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the implementation class which has been chosen.
+     *
+     * @return the implementation class, {@code null} if none has been chosen
+     *         or it has been garbage collected
+     */
+    public Class<?> getChosenClass() {
+        return chosenClass.get();
+    }
+
+    /**
+     * Returns the name of the implementation class which has been chosen.
+     *
+     * @return the fully qualified class name, {@code null} if none has been chosen
+     */
+    public String getChosenClassName() {
+        return chosenClassName;
+    }
+
+    /**
+     * Returns the location the implementation class has been loaded from.
+     *
+     * @return the URL of the class file, {@code null} if it cannot be determined
+     */
+    public URL getLocation() {
+        Class<?> c = chosenClass.get();
+        return c == null ? null : FactoryFinder.which(c);
+    }
+
+    /**
+     * Returns how long the whole lookup took.
+     *
+     * @return the duration of the lookup in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Lookup of ").append(factoryName)
+                .append(" with class loader ").append(classLoaderName)
+                .append(" took ").append(durationNanos).append("ns");
+        for (Step step : steps) {
+            sb.append(System.lineSeparator()).append("  ").append(step);
+        }
+        sb.append(System.lineSeparator()).append("  chosen ").append(chosenClassName);
+        return sb.toString();
+    }
+
+    /**
+     * Collects the steps of a single lookup.
+     */
+    static final class Recorder {
+
+        private final Class<?> factoryClass;
+        private final ClassLoader classLoader;
+        private final long start;
+        private final List<Step> steps = new ArrayList<>(4);
+        private Source current;
+        private long stepStart;
+        private Class<?> chosenClass;
+
+        Recorder(Class<?> factoryClass, ClassLoader classLoader) {
+            this.factoryClass = factoryClass;
+            this.classLoader = classLoader;
+            this.start = System.nanoTime();
+        }
+
+        void begin(Source source) {
+            current = source;
+            stepStart = System.nanoTime();
+        }
+
+        void end(Object found) {
+            String className = null;
+            if (found != null) {
+                chosenClass = found.getClass();
+                className = chosenClass.getName();
+            }
+            steps.add(new Step(current, System.nanoTime() - stepStart, className, false));
+            current = null;
+        }
+
+        // the step ended with an error the lookup recovered from
+        void fail() {
+            steps.add(new Step(current, System.nanoTime() - stepStart, null, true));
+            current = null;
+        }
+
+        DiscoveryReport finish() {
+            long now = System.nanoTime();
+            if (current != null) {
+                // the step did not end normally
+                steps.add(new Step(current, now - stepStart, null, true));
+                current = null;
+            }
+            return new DiscoveryReport(this, now - start);
+        }
+    }
+}
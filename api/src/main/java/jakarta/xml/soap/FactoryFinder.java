@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -15,6 +15,11 @@ import java.net.URL;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -32,8 +37,17 @@ class FactoryFinder {
                 }
             };
 
+    // providers bound through SAAJMetaFactory.setProvider
+    private static final Map<Class<?>, Supplier<?>> BOUND = new ConcurrentHashMap<>();
+
+    // latest full lookup of each factory type
+    private static final Map<Class<?>, DiscoveryReport> REPORTS = new ConcurrentHashMap<>();
+
     private final static PrivilegedAction<String> propertyAction = () -> System.getProperty("saaj.debug");
 
+    // system property enabling the discovery without reflection
+    static final String REFLECTION_FREE_PROPERTY = "jakarta.xml.soap.reflectionFree";
+
     static {
         logger = Logger.getLogger("jakarta.xml.soap");
         try {
@@ -66,6 +80,13 @@ class FactoryFinder {
      * is not to be attempted in order to check if requested type is fallback.
      * <P>
      * This method is package private so that this code can be shared.
+     * <P>
+     * The outcome is cached per factory type, context class loader and
+     * value of the system property named after the factory type, subsequent
+     * calls only create a new instance of the provider found by the first
+     * one, the same way it was created, until the cache is invalidated or
+     * the service configuration files the outcome depends on change.
+     * The package access check is repeated for cached providers.
      *
      * @return the {@code Class} object of the specified message factory;
      *         may not be {@code null}
@@ -79,52 +100,247 @@ class FactoryFinder {
      *                              fallback
      * @exception SOAPException if there is a SOAP error
      */
-    @SuppressWarnings("unchecked")
     static <T> T find(Class<T> factoryClass,
                       String defaultClassName,
                       boolean tryFallback) throws SOAPException {
 
+        SAAJEvents.Span span = SAAJEvents.begin(SAAJEvents.Kind.FACTORY_LOOKUP);
+        T factory = null;
+        try {
+            factory = find(factoryClass, defaultClassName, tryFallback, span);
+            return factory;
+        } finally {
+            span.factory(factoryClass.getName())
+                    .provider(factory == null ? null : factory.getClass().getName())
+                    .end();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T find(Class<T> factoryClass,
+                              String defaultClassName,
+                              boolean tryFallback,
+                              SAAJEvents.Span span) throws SOAPException {
+
+        // Use the provider bound by the application, if any
+        Supplier<?> bound = BOUND.get(factoryClass);
+        if (bound != null) {
+            Object result = bound.get();
+            if (result == null) {
+                throw new SOAPException("Provider bound for " + factoryClass.getName() + " returned null");
+            }
+            return (T) result;
+        }
+
         ClassLoader tccl = ServiceLoaderUtil.contextClassLoader(EXCEPTION_HANDLER);
+        // part of the cache key, a lookup made with another value does not count
+        String property = fromSystemProperty(factoryClass.getName());
+
+        // Use the outcome of a previous lookup, if any
+        ProviderCache.Entry cached = ProviderCache.get(tccl, factoryClass);
+        if (cached != null && cached.matches(property, factoryClass, tccl)) {
+            if (cached.isNotFound()) {
+                span.cached(true);
+                return null;
+            }
+            if (cached.isReflective()) {
+                checkPackageAccess(cached.type(), defaultClassName);
+            }
+            try {
+                Object result = cached.newInstance();
+                if (result != null) {
+                    span.cached(true);
+                    return (T) result;
+                }
+            } catch (ReflectiveOperationException | ServiceConfigurationError e) {
+                logger.log(Level.FINE, "Cached provider for " + factoryClass.getName() + " cannot be instantiated", e);
+            }
+            ProviderCache.remove(tccl, factoryClass);
+        }
+
+        DiscoveryReport.Recorder recorder = new DiscoveryReport.Recorder(factoryClass, tccl);
+        try {
+            return lookup(factoryClass, defaultClassName, tryFallback, tccl, property, recorder);
+        } finally {
+            REPORTS.put(factoryClass, recorder.finish());
+        }
+    }
+
+    // runs the lookup procedure, each step which finds the provider records in
+    // ProviderCache how to create further instances, so does finding none
+    @SuppressWarnings("unchecked")
+    private static <T> T lookup(Class<T> factoryClass,
+                                String defaultClassName,
+                                boolean tryFallback,
+                                ClassLoader tccl,
+                                String property,
+                                DiscoveryReport.Recorder recorder) throws SOAPException {
+
         String factoryId = factoryClass.getName();
+        boolean reflectionFree = isReflectionFree();
 
         // Use the system property first
-        String className = fromSystemProperty(factoryId);
-        if (className != null) {
-            Object result = newInstance(className, defaultClassName, tccl);
-            if (result != null) {
-                return (T) result;
+        if (!reflectionFree) {
+            recorder.begin(DiscoveryReport.Source.SYSTEM_PROPERTY);
+            String className = property;
+            if (className != null) {
+                Object result = newInstance(className, defaultClassName, tccl);
+                recorder.end(result);
+                if (result != null) {
+                    ProviderCache.putClass(tccl, factoryClass, result.getClass(), property, null);
+                    return (T) result;
+                }
+            } else {
+                recorder.end(null);
+            }
+        } else {
+            logger.log(Level.FINE, "Reflection-free discovery, skipping system property {0}", factoryId);
+        }
+
+        // discovery index generated at build time
+        if (!reflectionFree) {
+            recorder.begin(DiscoveryReport.Source.INDEX);
+            String indexed = ProviderIndex.lookup(factoryId, tccl, logger);
+            if (indexed != null) {
+                logger.log(Level.FINE, "Discovery index lists {0}", indexed);
+                Object result = null;
+                try {
+                    result = newInstance(indexed, defaultClassName, tccl);
+                } catch (SOAPException e) {
+                    // stale index, the service configuration files have the final say
+                    logger.log(Level.FINE, "Discovery index entry " + indexed + " cannot be used", e);
+                    recorder.fail();
+                }
+                if (result != null) {
+                    recorder.end(result);
+                    ProviderCache.putClass(tccl, factoryClass, result.getClass(), property, null);
+                    return (T) result;
+                }
+            } else {
+                recorder.end(null);
             }
         }
 
-        // standard services: java.util.ServiceLoader
-        T factory = ServiceLoaderUtil.firstByServiceLoader(
+        // standard services: java.util.ServiceLoader, from here on the outcome
+        // depends on the service configuration files, taken before they are read
+        Object configuration = ServiceLoaderUtil.configuration(factoryClass, tccl);
+        recorder.begin(DiscoveryReport.Source.SERVICE_LOADER);
+        ServiceLoader.Provider<T> provider = ServiceLoaderUtil.bestProvider(
+                factoryClass,
+                logger,
+                EXCEPTION_HANDLER);
+        T factory = provider == null ? null : ServiceLoaderUtil.instantiate(
+                provider,
                 factoryClass,
                 logger,
                 EXCEPTION_HANDLER);
+        recorder.end(factory);
         if (factory != null) {
+            ProviderCache.putProvider(tccl, factoryClass, provider, property, configuration);
             return factory;
         }
 
         // handling Glassfish/OSGi (platform specific default)
-        if (isOsgi()) {
+        if (!reflectionFree && isOsgi()) {
+            recorder.begin(DiscoveryReport.Source.OSGI_SERVICE_LOADER);
             Object result = lookupUsingOSGiServiceLoader(factoryId);
+            recorder.end(result);
             if (result != null) {
+                ProviderCache.putInstantiator(tccl, factoryClass, () -> lookupUsingOSGiServiceLoader(factoryId),
+                        property, configuration);
                 return (T) result;
             }
         }
 
         // If not found and fallback should not be tried, return a null result.
-        if (!tryFallback)
+        if (!tryFallback) {
+            ProviderCache.putNotFound(tccl, factoryClass, property, configuration);
             return null;
+        }
 
         // We didn't find the class through the usual means so try the default
         // (built in) factory if specified.
-        if (defaultClassName == null) {
+        if (defaultClassName == null || reflectionFree) {
             throw new SOAPException(
                     "Provider for " + factoryId + " cannot be found", null);
         }
         logger.fine("Trying to create the default implementation of the message factory");
-        return (T) newInstance(defaultClassName, defaultClassName, tccl);
+        recorder.begin(DiscoveryReport.Source.DEFAULT);
+        Object result = newInstance(defaultClassName, defaultClassName, tccl);
+        recorder.end(result);
+        ProviderCache.putClass(tccl, factoryClass, result.getClass(), property, configuration);
+        return (T) result;
+    }
+
+    /**
+     * Binds the provider of the given factory type, {@link #find} returns
+     * instances supplied by it without running the lookup procedure.
+     *
+     * @param factoryClass factory abstract class
+     * @param provider     supplier of the factory instances, {@code null}
+     *                     to remove the binding
+     */
+    static <T> void bind(Class<T> factoryClass, Supplier<? extends T> provider) {
+        if (provider == null) {
+            BOUND.remove(factoryClass);
+        } else {
+            BOUND.put(factoryClass, provider);
+        }
+    }
+
+    /**
+     * Returns the report of the latest full lookup of the given factory type.
+     *
+     * @param factoryClass factory abstract class
+     * @return the report, {@code null} if the factory has not been looked up yet
+     */
+    static DiscoveryReport report(Class<?> factoryClass) {
+        return REPORTS.get(factoryClass);
+    }
+
+    /**
+     * Returns the class of the provider a previous lookup of the given factory
+     * type found for the current context class loader, without creating an
+     * instance or running the lookup procedure. Unlike {@link #find} it does
+     * not look at the service configuration files, so that it stays cheap;
+     * changes made to them are only seen after the cache is invalidated.
+     *
+     * @param factoryClass factory abstract class
+     * @return the provider class, {@code null} if the factory is bound or the
+     *         class is not known without running the lookup procedure
+     */
+    static Class<?> cachedType(Class<?> factoryClass) {
+        if (BOUND.containsKey(factoryClass)) {
+            return null;
+        }
+        ClassLoader tccl;
+        try {
+            tccl = Thread.currentThread().getContextClassLoader();
+        } catch (SecurityException se) {
+            return null;
+        }
+        ProviderCache.Entry cached = ProviderCache.get(tccl, factoryClass);
+        return cached == null || !cached.matches(fromSystemProperty(factoryClass.getName())) ? null : cached.type();
+    }
+
+    /**
+     * Discards all lookup outcomes cached by {@link #find}.
+     */
+    static void invalidate() {
+        ProviderCache.clear();
+        ProviderIndex.clear();
+    }
+
+    /**
+     * Discards the lookup outcomes cached by {@link #find}, and the discovery
+     * index read, for the given context class loader.
+     *
+     * @param loader the context class loader, {@code null} for threads
+     *               without a context class loader
+     */
+    static void invalidate(ClassLoader loader) {
+        ProviderCache.clear(loader);
+        ProviderIndex.clear(loader);
     }
 
     private static Object newInstance(String className, String defaultClassName, ClassLoader tccl) throws SOAPException {
@@ -145,6 +361,32 @@ class FactoryFinder {
         return newInstance;
     }
 
+    // the check the lookup made when it loaded the provider class by name
+    private static void checkPackageAccess(Class<?> type, String defaultClassName) throws SOAPException {
+        if (type == null || System.getSecurityManager() == null) {
+            return;
+        }
+        try {
+            ServiceLoaderUtil.checkPackageAccess(type.getName());
+        } catch (SecurityException se) {
+            // anyone can access the platform default factory class without permission
+            if (!type.getName().equals(defaultClassName)) {
+                throw EXCEPTION_HANDLER.createException(se,
+                        "Provider " + type.getName() + " could not be instantiated: " + se);
+            }
+        }
+    }
+
+    // opt-in only, native images keep the full lookup procedure unless asked otherwise
+    private static boolean isReflectionFree() {
+        try {
+            return Boolean.parseBoolean(getSystemProperty(REFLECTION_FREE_PROPERTY));
+        } catch (SecurityException se) {
+            logger.log(Level.FINE, "Cannot determine discovery mode", se);
+            return false;
+        }
+    }
+
     private static String fromSystemProperty(String factoryId) {
         String systemProp = getSystemProperty(factoryId);
         return systemProp;
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An immutable set of MIME header names, compared ignoring the case of
+ * ASCII letters. It is meant to be created once and reused to select
+ * headers, for example by a proxy which forwards all but the hop-by-hop
+ * headers of every message:
+ * {@snippet :
+ *  static final HeaderNameSet HOP_BY_HOP = HeaderNameSet.of("Connection", "Keep-Alive", "Transfer-Encoding");
+ *  Iterator<MimeHeader> forwarded = headers.getHeadersNotIn(HOP_BY_HOP);
+ * }
+ * Testing whether a header name is in the set takes a single hash lookup,
+ * whatever the number of names in the set.
+ *
+ * @see MimeHeaders#getHeadersIn(HeaderNameSet)
+ * @see MimeHeaders#getHeadersNotIn(HeaderNameSet)
+ * @since 3.1
+ */
+public final class HeaderNameSet {
+
+    static final HeaderNameSet EMPTY = new HeaderNameSet(Collections.emptySet());
+
+    // case-folded names
+    private final Set<String> names;
+
+    private HeaderNameSet(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Creates a set of the given header names.
+     *
+     * @param names the header names, {@code null} elements are ignored
+     * @return the set of header names
+     * @exception NullPointerException if {@code names} is {@code null}
+     */
+    public static HeaderNameSet of(String... names) {
+        Set<String> set = new HashSet<>();
+        for (String name : names) {
+            if (name != null) {
+                set.add(MimeHeaders.fold(name));
+            }
+        }
+        return new HeaderNameSet(set);
+    }
+
+    /**
+     * Tells whether the given header name is in this set.
+     *
+     * @param name the header name
+     * @return {@code true} if the name is in this set, ignoring case
+     */
+    public boolean contains(String name) {
+        return name != null && containsFolded(MimeHeaders.fold(name));
+    }
+
+    boolean containsFolded(String key) {
+        return names.contains(key);
+    }
+
+    /**
+     * Returns the number of names in this set.
+     *
+     * @return the number of distinct names
+     */
+    public int size() {
+        return names.size();
+    }
+
+    @Override
+    public String toString() {
+        return names.toString();
+    }
+}
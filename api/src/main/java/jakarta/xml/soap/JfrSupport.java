@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder backend of {@link SAAJEvents}. Must only be
+ * loaded once the {@code jdk.jfr} module is known to be readable.
+ */
+final class JfrSupport {
+
+    // whether any flight recording is running
+    private static volatile boolean recording;
+
+    private JfrSupport() {
+    }
+
+    static boolean init() {
+        return AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
+            FlightRecorder.addListener(new FlightRecorderListener() {
+                @Override
+                public void recorderInitialized(FlightRecorder recorder) {
+                    update(recorder);
+                }
+
+                @Override
+                public void recordingStateChanged(Recording r) {
+                    update(FlightRecorder.getFlightRecorder());
+                }
+            });
+            return true;
+        });
+    }
+
+    private static void update(FlightRecorder recorder) {
+        boolean running = false;
+        for (Recording r : recorder.getRecordings()) {
+            if (r.getState() == RecordingState.RUNNING) {
+                running = true;
+                break;
+            }
+        }
+        recording = running;
+    }
+
+    static boolean isRecording() {
+        return recording;
+    }
+
+    static SAAJEvents.Span begin(SAAJEvents.Kind kind) {
+        SAAJEvent event;
+        switch (kind) {
+            case FACTORY_LOOKUP:
+                event = new FactoryLookupEvent();
+                break;
+            case MESSAGE_CREATE:
+                event = new MessageCreateEvent();
+                break;
+            case MESSAGE_SAVE:
+                event = new MessageSaveEvent();
+                break;
+            case MESSAGE_WRITE:
+                event = new MessageWriteEvent();
+                break;
+            case ATTACHMENT_CONTENT:
+                event = new AttachmentContentEvent();
+                break;
+            case CONNECTION_CALL:
+                event = new ConnectionCallEvent();
+                break;
+            default:
+                throw new IllegalArgumentException(String.valueOf(kind));
+        }
+        if (!event.isEnabled()) {
+            return SAAJEvents.NONE;
+        }
+        event.begin();
+        return new JfrSpan(event);
+    }
+
+    private static final class JfrSpan extends SAAJEvents.Span {
+
+        private final SAAJEvent event;
+        String factory;
+        String provider;
+        boolean cached;
+        String protocol;
+        String contentType;
+        long size = -1;
+        int attachmentCount;
+        String endpoint;
+        long responseSize = -1;
+
+        JfrSpan(SAAJEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public SAAJEvents.Span factory(String factory) {
+            this.factory = factory;
+            return this;
+        }
+
+        @Override
+        public SAAJEvents.Span provider(String provider) {
+            this.provider = provider;
+            return this;
+        }
+
+        @Override
+        public SAAJEvents.Span cached(boolean cached) {
+            this.cached = cached;
+            return this;
+        }
+
+        @Override
+        public SAAJEvents.Span protocol(String protocol) {
+            this.protocol = protocol;
+            return this;
+        }
+
+        @Override
+        public SAAJEvents.Span contentType(String contentType) {
+            this.contentType = contentType;
+            return this;
+        }
+
+        @Override
+        public SAAJEvents.Span size(long size) {
+            this.size = size;
+            return this;
+        }
+
+        @Override
+        public SAAJEvents.Span attachmentCount(int count) {
+            this.attachmentCount = count;
+            return this;
+        }
+
+        @Override
+        public SAAJEvents.Span endpoint(String endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        @Override
+        public SAAJEvents.Span responseSize(long size) {
+            this.responseSize = size;
+            return this;
+        }
+
+        @Override
+        public void end() {
+            event.end();
+            if (event.shouldCommit()) {
+                event.fill(this);
+                event.commit();
+            }
+        }
+    }
+
+    @Category({"Jakarta EE", "SOAP"})
+    @StackTrace(false)
+    abstract static class SAAJEvent extends Event {
+
+        // copies the attributes which apply to this kind of event
+        abstract void fill(JfrSpan span);
+    }
+
+    @Name("jakarta.xml.soap.FactoryLookup")
+    @Label("SAAJ Factory Lookup")
+    @Description("Lookup of a SAAJ factory implementation")
+    static final class FactoryLookupEvent extends SAAJEvent {
+        @Label("Factory")
+        String factoryClass;
+        @Label("Provider")
+        String providerClass;
+        @Label("Cached")
+        boolean fromCache;
+
+        @Override
+        void fill(JfrSpan span) {
+            factoryClass = span.factory;
+            providerClass = span.provider;
+            fromCache = span.cached;
+        }
+    }
+
+    @Name("jakarta.xml.soap.MessageCreate")
+    @Label("SOAP Message Create")
+    @Description("Creation of a SOAP message by a MessageFactory")
+    static final class MessageCreateEvent extends SAAJEvent {
+        @Label("Protocol")
+        String soapProtocol;
+        @Label("Content Type")
+        String mimeType;
+        @Label("Size")
+        @DataAmount
+        long inputSize;
+
+        @Override
+        void fill(JfrSpan span) {
+            soapProtocol = span.protocol;
+            mimeType = span.contentType;
+            inputSize = span.size;
+        }
+    }
+
+    @Name("jakarta.xml.soap.MessageSave")
+    @Label("SOAP Message Save")
+    @Description("SOAPMessage.saveChanges()")
+    static final class MessageSaveEvent extends SAAJEvent {
+        @Label("Protocol")
+        String soapProtocol;
+        @Label("Attachments")
+        int attachments;
+
+        @Override
+        void fill(JfrSpan span) {
+            soapProtocol = span.protocol;
+            attachments = span.attachmentCount;
+        }
+    }
+
+    @Name("jakarta.xml.soap.MessageWrite")
+    @Label("SOAP Message Write")
+    @Description("SOAPMessage.writeTo(OutputStream)")
+    static final class MessageWriteEvent extends SAAJEvent {
+        @Label("Protocol")
+        String soapProtocol;
+        @Label("Size")
+        @DataAmount
+        long written;
+        @Label("Attachments")
+        int attachments;
+
+        @Override
+        void fill(JfrSpan span) {
+            soapProtocol = span.protocol;
+            written = span.size;
+            attachments = span.attachmentCount;
+        }
+    }
+
+    @Name("jakarta.xml.soap.AttachmentContent")
+    @Label("SOAP Attachment Content")
+    @Description("Materialisation of the content of an AttachmentPart")
+    static final class AttachmentContentEvent extends SAAJEvent {
+        @Label("Content Type")
+        String mimeType;
+        @Label("Size")
+        @DataAmount
+        long contentSize;
+
+        @Override
+        void fill(JfrSpan span) {
+            mimeType = span.contentType;
+            contentSize = span.size;
+        }
+    }
+
+    @Name("jakarta.xml.soap.ConnectionCall")
+    @Label("SOAP Connection Call")
+    @Description("SOAPConnection.call(SOAPMessage, Object)")
+    static final class ConnectionCallEvent extends SAAJEvent {
+        @Label("Protocol")
+        String soapProtocol;
+        @Label("Endpoint")
+        String url;
+        @Label("Request Size")
+        @DataAmount
+        long requestSize;
+        @Label("Response Size")
+        @DataAmount
+        long responseBytes;
+
+        @Override
+        void fill(JfrSpan span) {
+            soapProtocol = span.protocol;
+            url = span.endpoint;
+            requestSize = span.size;
+            responseBytes = span.responseSize;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -13,6 +13,7 @@ package jakarta.xml.soap;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Objects;
 
 /**
  * A factory for creating {@code SOAPMessage} objects.
@@ -48,6 +49,10 @@ import java.io.InputStream;
  *        This method can be used internally by a service implementation to
  *        create a message that is a response to a request.
  * </UL>
+ * <P>
+ * {@code MessageFactory} objects are not guaranteed to be safe for use by multiple
+ * concurrent threads, unless obtained through {@link #shared(String)} from an
+ * implementation which declares them thread safe.
  *
  * @since 1.6
  */
@@ -56,6 +61,35 @@ public abstract class MessageFactory {
     private static final String DEFAULT_MESSAGE_FACTORY
         = "com.sun.xml.messaging.saaj.soap.ver1_1.SOAPMessageFactory1_1Impl";
 
+    /**
+     * Specifies whether {@link #createMessage(MimeHeaders, InputStream)}
+     * parses the message lazily. The only valid values are "true" and
+     * "false". The default is "false".
+     * <p>
+     * When it is "true", {@code createMessage} returns without parsing the
+     * MIME structure or the envelope of the message; they are parsed when
+     * they are first needed, for example by {@link SOAPMessage#getSOAPPart()},
+     * {@link SOAPMessage#getSOAPHeader()}, {@link SOAPMessage#getSOAPBody()}
+     * or {@link SOAPMessage#getAttachments()}. Messages which are handled
+     * based on their MIME headers only, such as routed messages, are then
+     * never parsed. The input stream may be read after {@code createMessage}
+     * has returned, and errors in the message are reported by the method
+     * which first needs the parsed content.
+     * <p>
+     * This is a hint: implementations which do not support lazy parsing
+     * parse the message eagerly.
+     *
+     * @see MessageFactory#setProperty(String, Object)
+     * @since 3.1
+     */
+    public static final String LAZY_PARSING =
+        "jakarta.xml.soap.lazy-parsing";
+
+    private volatile boolean lazyParsing;
+
+    // set before the instance is published by SAAJMetaFactory.sharedMessageFactory
+    boolean shared;
+
     /**
      * Default constructor.
      */
@@ -126,6 +160,34 @@ public abstract class MessageFactory {
         return SAAJMetaFactory.getInstance().newMessageFactory(protocol);
     }
 
+    /**
+     * Returns a {@code MessageFactory} object for the specified protocol which
+     * may be shared by all threads of the application.
+     * <p>
+     * If the SAAJ implementation declares its factories thread safe
+     * (see {@link SAAJMetaFactory#isThreadSafe()}), the same instance is returned
+     * for all calls with the same protocol and the instance may be used by multiple
+     * concurrent threads; its properties cannot be set, see
+     * {@link #setProperty(String, Object)}. Otherwise a new instance is
+     * returned on each call, exactly as by {@link #newInstance(String)}.
+     *
+     * @param protocol  a string constant representing the class of the
+     *                   specified message factory implementation. May be
+     *                   either {@code DYNAMIC_SOAP_PROTOCOL},
+     *                   {@code DEFAULT_SOAP_PROTOCOL} (which is the same
+     *                   as) {@code SOAP_1_1_PROTOCOL}, or
+     *                   {@code SOAP_1_2_PROTOCOL}.
+     * @return a shared or a new instance of a {@code MessageFactory}
+     *
+     * @exception SOAPException if there was an error in creating the
+     *            specified implementation of  {@code MessageFactory}.
+     * @see SAAJMetaFactory#isThreadSafe()
+     * @since 3.1
+     */
+    public static MessageFactory shared(String protocol) throws SOAPException {
+        return SAAJMetaFactory.sharedMessageFactory(protocol);
+    }
+
     /**
      * Creates a new {@code SOAPMessage} object with the default
      * {@code SOAPPart}, {@code SOAPEnvelope}, {@code SOAPBody},
@@ -177,4 +239,120 @@ public abstract class MessageFactory {
     public abstract SOAPMessage createMessage(MimeHeaders headers,
                                               InputStream in)
         throws IOException, SOAPException;
+
+    /**
+     * Creates a new {@code SOAPMessage} object whose SOAP header and SOAP
+     * body content are written by the given callbacks when the message is
+     * externalized, for example by {@link SOAPMessage#writeTo(java.io.OutputStream)}.
+     * Only the envelope, header and body elements are held in memory, so
+     * the size of the content is not limited by the heap.
+     * <P>
+     * The callbacks are called every time the message is externalized;
+     * a message whose callbacks can only write their content once can only
+     * be written once. Accessing the content through the {@code SOAPPart}
+     * of the message is implementation specific.
+     * <P>
+     * The default implementation throws {@code UnsupportedOperationException},
+     * since building the content in memory would defeat the purpose of the method;
+     * implementations which support streaming override it.
+     *
+     * @param header writes the content of the SOAP header, {@code null}
+     *        for a message without SOAP header content
+     * @param body writes the content of the SOAP body
+     * @return a new {@code SOAPMessage} object
+     * @exception SOAPException if the message cannot be created
+     * @exception NullPointerException if {@code body} is {@code null}
+     * @exception UnsupportedOperationException if the implementation does not
+     *        support streaming messages
+     * @see StreamingContent
+     * @since 3.1
+     */
+    public SOAPMessage createStreamingMessage(StreamingContent header, StreamingContent body)
+        throws SOAPException {
+        Objects.requireNonNull(body);
+        throw new UnsupportedOperationException("createStreamingMessage is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Associates the specified value with the specified property. If there was
+     * already a value associated with this property, the old value is
+     * replaced.
+     * <p>
+     * The valid property names include {@link MessageFactory#LAZY_PARSING}.
+     * Vendors may also add implementation specific properties, prefixed with
+     * package names that are unique to the vendor.
+     * <p>
+     * Properties affect all the messages subsequently created by this
+     * {@code MessageFactory} object, so they cannot be set on an instance
+     * returned by {@link #shared(String)} which is shared by all its callers;
+     * create a factory with {@link #newInstance(String)} to set properties.
+     * <p>
+     * The default implementation supports {@code LAZY_PARSING} only.
+     * Implementations which override this method check {@link #isShared()}.
+     *
+     * @param property
+     *           the property with which the specified value is to be
+     *           associated.
+     * @param value
+     *           the value to be associated with the specified property
+     * @exception SOAPException
+     *               if the property name or value is not recognized.
+     * @exception IllegalStateException
+     *               if this {@code MessageFactory} object is shared
+     * @since 3.1
+     */
+    public void setProperty(String property, Object value)
+        throws SOAPException {
+        if (shared)
+            throw new IllegalStateException("Properties of a shared MessageFactory cannot be set");
+        if (LAZY_PARSING.equals(property)) {
+            String v = String.valueOf(value);
+            if (!"true".equals(v) && !"false".equals(v))
+                throw new SOAPException("Invalid value of " + property + ": " + value);
+            lazyParsing = Boolean.parseBoolean(v);
+            return;
+        }
+        throw new SOAPException("Property not supported: " + property);
+    }
+
+    /**
+     * Retrieves value of the specified property.
+     *
+     * @param property
+     *           the name of the property to retrieve
+     * @return the value associated with the named property or {@code null}
+     *         if no such property exists.
+     * @exception SOAPException
+     *               if the property name is not recognized.
+     * @since 3.1
+     */
+    public Object getProperty(String property) throws SOAPException {
+        if (LAZY_PARSING.equals(property))
+            return lazyParsing ? "true" : "false";
+        throw new SOAPException("Property not supported: " + property);
+    }
+
+    /**
+     * Tells whether {@link #LAZY_PARSING} has been set to "true".
+     * Implementations which support lazy parsing override
+     * {@code createMessage(MimeHeaders, InputStream)} to check it.
+     *
+     * @return {@code true} if messages are to be parsed lazily
+     * @since 3.1
+     */
+    protected boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
+    /**
+     * Tells whether this {@code MessageFactory} object is shared by all the
+     * callers of {@link #shared(String)}, in which case its properties
+     * cannot be changed.
+     *
+     * @return {@code true} if this object is shared
+     * @since 3.1
+     */
+    protected final boolean isShared() {
+        return shared;
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.IOException;
+
+/**
+ * Creates messages from a prototype message, built once with the parts
+ * which are the same in every message, such as WS-Addressing or security
+ * header skeletons and namespace declarations:
+ * {@snippet :
+ *  SOAPMessage prototype = mf.createMessage();
+ *  prototype.getSOAPHeader().addHeaderElement(new QName(WSA, "Action", "wsa"));
+ *  // ...
+ *  MessageTemplate template = MessageTemplate.of(prototype);
+ *
+ *  SOAPMessage message = template.newMessage(); // for every request
+ * }
+ * The prototype is externalized once, when the template is created, and
+ * every message is internalized from the resulting bytes and a copy of the
+ * MIME headers of the prototype with the shared {@code MessageFactory} of
+ * the protocol of the envelope. If the implementation overrides
+ * {@link SOAPMessage#copy()}, which lets it share unchanged parts between
+ * copies, messages are copies of the prototype instead.
+ * <p>
+ * A {@code MessageTemplate} is safe for use by multiple threads. It keeps
+ * its own copy of the prototype, so changes made to the prototype after
+ * the template was created do not affect it. Properties of the prototype
+ * are not copied to the created messages.
+ *
+ * @see SOAPMessage#copy()
+ * @since 3.1
+ */
+public final class MessageTemplate {
+
+    // copy of the prototype, if its implementation overrides SOAPMessage.copy()
+    private final SOAPMessage prototype;
+
+    // the externalized prototype otherwise
+    private final SOAPMessage.BufferOutputStream content;
+    private final MimeHeaders headers;
+    private final String protocol;
+
+    private MessageTemplate(SOAPMessage prototype) {
+        this.prototype = prototype;
+        this.content = null;
+        this.headers = null;
+        this.protocol = null;
+    }
+
+    private MessageTemplate(SOAPMessage.BufferOutputStream content, MimeHeaders headers, String protocol) {
+        this.prototype = null;
+        this.content = content;
+        this.headers = headers;
+        this.protocol = protocol;
+    }
+
+    /**
+     * Creates a template from the given prototype message. Changes made to
+     * the prototype are saved, if required.
+     *
+     * @param prototype the message the created messages are copies of
+     * @return a new {@code MessageTemplate}
+     * @exception SOAPException if the prototype cannot be copied or externalized
+     */
+    public static MessageTemplate of(SOAPMessage prototype) throws SOAPException {
+        if (overridesCopy(prototype)) {
+            return new MessageTemplate(prototype.copy());
+        }
+        if (prototype.saveRequired())
+            prototype.saveChanges();
+        try {
+            SOAPMessage.BufferOutputStream out = new SOAPMessage.BufferOutputStream();
+            prototype.writeTo(out);
+            return new MessageTemplate(out,
+                    MimeHeaders.copyOf(prototype.getMimeHeaders()).freeze(),
+                    prototype.envelopeProtocol());
+        } catch (IOException e) {
+            throw new SOAPException("Unable to externalize the prototype", e);
+        }
+    }
+
+    /**
+     * Creates a new message, a copy of the prototype of this template.
+     *
+     * @return a new {@code SOAPMessage} object
+     * @exception SOAPException if the message cannot be created
+     */
+    public SOAPMessage newMessage() throws SOAPException {
+        if (prototype == null) {
+            try {
+                return MessageFactory.shared(protocol).createMessage(
+                        MimeHeaders.copyOf(headers), content.toInputStream());
+            } catch (IOException e) {
+                throw new SOAPException("Unable to create the message", e);
+            }
+        }
+        // SOAPMessage is not thread safe, not even for copying
+        synchronized (prototype) {
+            return prototype.copy();
+        }
+    }
+
+    private static boolean overridesCopy(SOAPMessage message) {
+        try {
+            return message.getClass().getMethod("copy").getDeclaringClass() != SOAPMessage.class;
+        } catch (NoSuchMethodException | SecurityException e) {
+            // cannot tell, externalizing always works
+            return false;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,8 +10,18 @@
 
 package jakarta.xml.soap;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Vector;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * A container for {@code MimeHeader} objects, which represent
@@ -22,19 +32,208 @@ import java.util.Vector;
  * values. This class will most likely be used by implementations of
  * {@code AttachmentPart} and other MIME dependent parts of the SAAJ
  * API.
+ * <p>
+ * Headers are indexed by their name, ignoring the case of ASCII letters,
+ * so lookups by name do not depend on the number of headers. Only ASCII
+ * letters are folded: unlike with {@link String#equalsIgnoreCase}, names
+ * which differ in the case of other letters, such as "\u00c4" and
+ * "\u00e4", are different names. Lookups by
+ * the well-known names defined by this class, such as {@link #CONTENT_TYPE},
+ * take a faster path. Headers with the same name are
+ * kept together, in the order they were added. A {@code MimeHeaders}
+ * object is not synchronized; it must not be modified while it is
+ * accessed by another thread.
+ * <p>
+ * A {@code MimeHeaders} object can be {@linkplain #freeze() frozen}, after
+ * which it cannot be modified and, once safely published, can be shared
+ * between threads. {@link #copyOf(MimeHeaders)} creates a copy which
+ * shares the headers of the original until either of them is modified,
+ * so a set of default headers can be frozen once and copied for every
+ * message at constant cost:
+ * {@snippet :
+ *  static final MimeHeaders DEFAULTS = defaultHeaders().freeze();
+ *
+ *  MimeHeaders headers = MimeHeaders.copyOf(DEFAULTS);
+ *  headers.setHeader(MimeHeaders.SOAP_ACTION, action); // copies the headers
+ * }
+ *
  * @see SOAPMessage#getAttachments
  * @see AttachmentPart
  * @since 1.6
  */
 public class MimeHeaders {
-    private Vector<MimeHeader> headers;
+
+    /**
+     * The name of the "Content-Type" header.
+     *
+     * @since 3.1
+     */
+    public static final String CONTENT_TYPE = "Content-Type";
+
+    /**
+     * The name of the "Content-ID" header. The header is sometimes spelled
+     * "Content-Id"; header names are case-insensitive, so both spellings
+     * name the same header.
+     *
+     * @since 3.1
+     */
+    public static final String CONTENT_ID = "Content-ID";
+
+    /**
+     * The name of the "Content-Location" header.
+     *
+     * @since 3.1
+     */
+    public static final String CONTENT_LOCATION = "Content-Location";
+
+    /**
+     * The name of the "Content-Transfer-Encoding" header.
+     *
+     * @since 3.1
+     */
+    public static final String CONTENT_TRANSFER_ENCODING = "Content-Transfer-Encoding";
+
+    /**
+     * The name of the "SOAPAction" header.
+     *
+     * @since 3.1
+     */
+    public static final String SOAP_ACTION = "SOAPAction";
+
+    private static final String FOLDED_CONTENT_TYPE = "content-type";
+    private static final String FOLDED_CONTENT_ID = "content-id";
+    private static final String FOLDED_CONTENT_LOCATION = "content-location";
+    private static final String FOLDED_CONTENT_TRANSFER_ENCODING = "content-transfer-encoding";
+    private static final String FOLDED_SOAP_ACTION = "soapaction";
+
+    // headers with the same name, first added first
+    private static final class Group {
+        final String key;
+        MimeHeader[] headers = new MimeHeader[1];
+        int size;
+        // neighbours in the order the names were first added
+        Group prev;
+        Group next;
+
+        Group(String key) {
+            this.key = key;
+        }
+
+        void add(MimeHeader header) {
+            if (size == headers.length) {
+                MimeHeader[] grown = new MimeHeader[size * 2];
+                System.arraycopy(headers, 0, grown, 0, size);
+                headers = grown;
+            }
+            headers[size++] = header;
+        }
+
+        void remove(int i) {
+            System.arraycopy(headers, i + 1, headers, i, size - i - 1);
+            headers[--size] = null;
+        }
+    }
+
+    // case-folded name -> headers with that name
+    private HashMap<String, Group> index;
+    private Group first;
+    private Group last;
+    private int size;
+    private int modCount;
+    // whether the groups may be shared with another MimeHeaders object
+    private boolean shared;
+    private boolean frozen;
+    private boolean modified;
+    // parsed Content-Type, valid as long as the header value is the same instance
+    private ContentType contentType;
 
    /**
     * Constructs a default {@code MimeHeaders} object initialized with
-    * an empty {@code Vector} object.
+    * no headers.
     */
     public MimeHeaders() {
-        headers = new Vector<>();
+        index = new HashMap<>();
+    }
+
+    // shares the groups of the given headers
+    private MimeHeaders(MimeHeaders headers) {
+        index = headers.index;
+        first = headers.first;
+        last = headers.last;
+        size = headers.size;
+        contentType = headers.contentType;
+        shared = true;
+    }
+
+    /**
+     * Creates a modifiable copy of the given {@code MimeHeaders} object.
+     * The copy shares the headers of the original until either of them is
+     * modified, so copying does not depend on the number of headers.
+     * Copying a frozen object does not modify it and can be done
+     * concurrently by several threads.
+     *
+     * @param headers the headers to copy
+     * @return a new {@code MimeHeaders} object with the same headers
+     * @exception NullPointerException if {@code headers} is {@code null}
+     * @since 3.1
+     */
+    public static MimeHeaders copyOf(MimeHeaders headers) {
+        MimeHeaders copy = new MimeHeaders(headers);
+        if (!headers.frozen)
+            headers.shared = true;
+        return copy;
+    }
+
+    /**
+     * Makes this {@code MimeHeaders} object unmodifiable. Methods which
+     * would modify it, including {@code Iterator.remove()}, throw
+     * {@code UnsupportedOperationException} afterwards.
+     *
+     * @return this {@code MimeHeaders} object
+     * @see #copyOf(MimeHeaders)
+     * @since 3.1
+     */
+    public MimeHeaders freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Tells whether this {@code MimeHeaders} object has been frozen.
+     *
+     * @return {@code true} if this object cannot be modified
+     * @see #freeze()
+     * @since 3.1
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Tells whether this {@code MimeHeaders} object has been modified since
+     * it was created or since {@link #clearModified()} was last called.
+     * Objects created by {@link #copyOf(MimeHeaders)} or
+     * {@link #parse(ByteBuffer)} start unmodified.
+     * <p>
+     * This lets {@link SOAPMessage#saveChanges()} implementations skip
+     * recomputing what depends on headers which did not change.
+     *
+     * @return {@code true} if a header has been set, added or removed
+     * @since 3.1
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Marks this {@code MimeHeaders} object as not modified, typically
+     * once the changes have been saved.
+     *
+     * @see #isModified()
+     * @since 3.1
+     */
+    public void clearModified() {
+        modified = false;
     }
 
     /**
@@ -47,21 +246,128 @@ public class MimeHeaders {
      * @see #setHeader
      */
     public String[] getHeader(String name) {
-        Vector<String> values = new Vector<>();
+        int count = getHeaderCount(name);
+        if (count == 0)
+            return null;
+
+        Group g = group(name);
 
-        for(int i = 0; i < headers.size(); i++) {
-            MimeHeader hdr = headers.elementAt(i);
-            if (hdr.getName().equalsIgnoreCase(name)
-                && hdr.getValue() != null)
-                values.addElement(hdr.getValue());
+        String[] r = new String[count];
+        count = 0;
+        for (int i = 0; i < g.size; i++) {
+            String value = g.headers[i].getValue();
+            if (value != null)
+                r[count++] = value;
         }
+        return r;
+    }
+
+    /**
+     * Returns the first value of the specified header. Unlike
+     * {@link #getHeader(String)}, this method does not allocate an array
+     * of values. The lookup does not allocate either when the name is one
+     * of the name constants of this class, such as {@link #CONTENT_TYPE},
+     * or has no upper-case letters; other names are converted to lower case
+     * first.
+     *
+     * @param   name the name of the header for which the value will be returned
+     * @return the first non-{@code null} value of the specified header,
+     *         {@code null} if there is none
+     * @see #getHeader
+     * @since 3.1
+     */
+    public String getFirstHeader(String name) {
+        Group g = group(name);
+        if (g != null) {
+            for (int i = 0; i < g.size; i++) {
+                String value = g.headers[i].getValue();
+                if (value != null)
+                    return value;
+            }
+        }
+        return null;
+    }
 
-        if (values.isEmpty())
+    /**
+     * Performs the given action for each value of the specified header, in
+     * the order the values were added. Values are the same as the ones
+     * returned by {@link #getHeader(String)}, but no array of values is
+     * allocated.
+     * The action must not modify this {@code MimeHeaders} object.
+     *
+     * @param   name the name of the header whose values are consumed
+     * @param   action the action to perform for each non-{@code null} value
+     * @exception NullPointerException if the action is {@code null}
+     * @see #getHeader
+     * @since 3.1
+     */
+    public void forEachHeader(String name, Consumer<? super String> action) {
+        Objects.requireNonNull(action);
+        Group g = group(name);
+        if (g != null) {
+            for (int i = 0; i < g.size; i++) {
+                String value = g.headers[i].getValue();
+                if (value != null)
+                    action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values of the specified header, which is the
+     * length of the array {@link #getHeader(String)} would return.
+     *
+     * @param   name the name of the header whose values are counted
+     * @return the number of non-{@code null} values of the specified header
+     * @since 3.1
+     */
+    public int getHeaderCount(String name) {
+        Group g = group(name);
+        int count = 0;
+        if (g != null) {
+            for (int i = 0; i < g.size; i++) {
+                if (g.headers[i].getValue() != null)
+                    count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the parsed value of the "Content-Type" header. The value is
+     * parsed once and reused until the header changes.
+     *
+     * @return the parsed content type, {@code null} if there is no
+     *         "Content-Type" header
+     * @exception IllegalArgumentException if the header value is not
+     *            a valid content type
+     * @see ContentType#parse(String)
+     * @since 3.1
+     */
+    public ContentType getParsedContentType() {
+        String value = getFirstHeader(CONTENT_TYPE);
+        if (value == null)
             return null;
+        ContentType ct = contentType;
+        // the cache is tied to the header value instance, so it is
+        // invalidated by any change of the header
+        if (ct == null || ct.toString() != value) {
+            ct = ContentType.parse(value);
+            contentType = ct;
+        }
+        return ct;
+    }
 
-        String[] r = new String[values.size()];
-        values.copyInto(r);
-        return r;
+    /**
+     * Returns the number of {@code MimeHeader} objects in this
+     * {@code MimeHeaders} object, which is the number of elements
+     * {@link #getAllHeaders()} iterates over.
+     *
+     * @return the number of headers
+     * @since 3.1
+     */
+    public int size() {
+        return size;
     }
 
     /**
@@ -78,30 +384,26 @@ public class MimeHeaders {
      *
      * @exception IllegalArgumentException if there was a problem in the
      * mime header name or the value being set
+     * @exception UnsupportedOperationException if this object is frozen
      * @see #getHeader
      */
     public void setHeader(String name, String value)
     {
-        boolean found = false;
-
         if ((name == null) || name.isEmpty())
             throw new IllegalArgumentException("Illegal MimeHeader name");
 
-        for(int i = 0; i < headers.size(); i++) {
-            MimeHeader hdr = headers.elementAt(i);
-            if (hdr.getName().equalsIgnoreCase(name)) {
-                if (!found) {
-                    headers.setElementAt(new MimeHeader(hdr.getName(),
-                                                        value), i);
-                    found = true;
-                }
-                else
-                    headers.removeElementAt(i--);
-            }
-        }
-
-        if (!found)
+        beforeWrite();
+        Group g = group(name);
+        if (g == null) {
             addHeader(name, value);
+            return;
+        }
+        g.headers[0] = new MimeHeader(g.headers[0].getName(), value);
+        for (int i = 1; i < g.size; i++)
+            g.headers[i] = null;
+        size -= g.size - 1;
+        g.size = 1;
+        modCount++;
     }
 
     /**
@@ -117,23 +419,15 @@ public class MimeHeaders {
      *
      * @exception IllegalArgumentException if there was a problem in the
      * mime header name or value being added
+     * @exception UnsupportedOperationException if this object is frozen
      */
     public void addHeader(String name, String value)
     {
         if ((name == null) || name.isEmpty())
             throw new IllegalArgumentException("Illegal MimeHeader name");
 
-        int pos = headers.size();
-
-        for(int i = pos - 1 ; i >= 0; i--) {
-            MimeHeader hdr = headers.elementAt(i);
-            if (hdr.getName().equalsIgnoreCase(name)) {
-                headers.insertElementAt(new MimeHeader(name, value),
-                                        i+1);
-                return;
-            }
-        }
-        headers.addElement(new MimeHeader(name, value));
+        beforeWrite();
+        add(new MimeHeader(name, value));
     }
 
     /**
@@ -142,20 +436,33 @@ public class MimeHeaders {
      *
      * @param   name a {@code String} with the name of the header for
      *          which to search
+     * @exception UnsupportedOperationException if this object is frozen
      */
     public void removeHeader(String name) {
-        for(int i = 0; i < headers.size(); i++) {
-            MimeHeader hdr = headers.elementAt(i);
-            if (hdr.getName().equalsIgnoreCase(name))
-                headers.removeElementAt(i--);
-        }
+        if (frozen)
+            throw frozen();
+        if (group(name) == null)
+            return;
+        beforeWrite();
+        unlink(index.remove(fold(name)));
     }
 
     /**
      * Removes all the header entries from this {@code MimeHeaders} object.
+     *
+     * @exception UnsupportedOperationException if this object is frozen
      */
     public void removeAllHeaders() {
-        headers.removeAllElements();
+        if (frozen)
+            throw frozen();
+        // the map may be shared, replace it
+        index = new HashMap<>();
+        shared = false;
+        modified = true;
+        first = null;
+        last = null;
+        size = 0;
+        modCount++;
     }
 
 
@@ -166,36 +473,529 @@ public class MimeHeaders {
      *          object's list of {@code MimeHeader} objects
      */
     public Iterator<MimeHeader> getAllHeaders() {
-        return headers.iterator();
+        return new HeaderIterator(null, false);
+    }
+
+    /**
+     * Writes the headers as a MIME header block: one {@code name: value}
+     * line per header, each ended by CRLF, followed by an empty line.
+     * Characters are written as US-ASCII; characters outside of US-ASCII
+     * are replaced by {@code '?'}. A value may only contain line ends which
+     * fold it, that is which are followed by a space or a tab; they are
+     * written as CRLF. Headers with a {@code null} value are not written.
+     * Headers read by {@link #parse(ByteBuffer)} whose value has not been
+     * read are copied byte for byte, except that their line ends are
+     * written as CRLF.
+     *
+     * @param buffer the buffer to write to
+     * @exception BufferOverflowException if the buffer does not have enough
+     *            space remaining; nothing is written in that case
+     * @exception IllegalArgumentException if a header name is empty or
+     *            contains white space, a colon or control characters, or
+     *            if a value contains control characters other than tabs
+     *            and folding line ends; nothing is written in that case
+     * @exception java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @since 3.1
+     */
+    public void writeTo(ByteBuffer buffer) {
+        if (buffer.remaining() < encodedLength())
+            throw new BufferOverflowException();
+        for (Group g = first; g != null; g = g.next) {
+            for (int i = 0; i < g.size; i++) {
+                MimeHeader hdr = g.headers[i];
+                if (hdr instanceof RawMimeHeader && ((RawMimeHeader) hdr).writeTo(buffer))
+                    continue;
+                String value = hdr.getValue();
+                if (value == null)
+                    continue;
+                putAscii(buffer, hdr.getName());
+                buffer.put((byte) ':').put((byte) ' ');
+                putValue(buffer, value);
+                buffer.put((byte) '\r').put((byte) '\n');
+            }
+        }
+        buffer.put((byte) '\r').put((byte) '\n');
+    }
+
+    /**
+     * Writes the headers as a MIME header block, see {@link #writeTo(ByteBuffer)}.
+     * The block is written with a single call to the stream.
+     *
+     * @param out the stream to write to
+     * @exception IOException if an I/O error occurs
+     * @exception IllegalArgumentException if a header cannot be written
+     *            as a single MIME header, see {@link #writeTo(ByteBuffer)}
+     * @since 3.1
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        byte[] block = new byte[encodedLength()];
+        writeTo(ByteBuffer.wrap(block));
+        out.write(block);
+    }
+
+    /**
+     * Parses a MIME header block, as found at the start of a MIME part.
+     * Parsing starts at the position of the buffer and ends after the empty
+     * line which ends the block, or at the limit of the buffer if there is
+     * none; the position of the buffer is advanced accordingly. Both CRLF and
+     * LF line ends are accepted, and folded values are unfolded; a CR which
+     * is not followed by LF is not. If the block is not valid, the position
+     * of the buffer is not changed.
+     * <p>
+     * The block is copied out of the buffer once, header values are decoded
+     * from that copy when they are first read. Bytes are decoded as
+     * ISO-8859-1, which leaves US-ASCII unchanged.
+     *
+     * @param buffer the buffer to read from
+     * @return the parsed headers
+     * @exception IllegalArgumentException if a line of the block is not
+     *            a MIME header, for instance if it starts with white space
+     *            without continuing a header
+     * @since 3.1
+     */
+    public static MimeHeaders parse(ByteBuffer buffer) {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        // find the end of the block, the first empty line
+        int end = limit;
+        int next = limit;
+        for (int i = start; i < limit; ) {
+            int lineEnd = lineEnd(buffer, i, limit);
+            if (lineEnd == i) {
+                end = i;
+                next = i + (buffer.get(i) == '\r' ? 2 : 1);
+                break;
+            }
+            i = lineEnd == limit ? limit : lineEnd + (buffer.get(lineEnd) == '\r' ? 2 : 1);
+        }
+        byte[] block = new byte[end - start];
+        buffer.duplicate().get(block);
+
+        MimeHeaders headers = new MimeHeaders();
+        int i = 0;
+        while (i < block.length) {
+            // the header ends at a line end not followed by a folding space
+            int lineEnd = i;
+            while (lineEnd < block.length && (block[lineEnd] != '\n' || lineEnd + 1 < block.length
+                    && (block[lineEnd + 1] == ' ' || block[lineEnd + 1] == '\t')))
+                lineEnd++;
+            int colon = i;
+            while (colon < lineEnd && block[colon] != ':')
+                colon++;
+            int nameEnd = colon;
+            while (nameEnd > i && (block[nameEnd - 1] == ' ' || block[nameEnd - 1] == '\t'))
+                nameEnd--;
+            if (colon == lineEnd || nameEnd == i || !isName(block, i, nameEnd))
+                throw new IllegalArgumentException("Invalid MIME header: "
+                        + new String(block, i, lineEnd - i, StandardCharsets.ISO_8859_1).trim());
+            int valueEnd = lineEnd;
+            if (valueEnd > colon && block[valueEnd - 1] == '\r')
+                valueEnd--;
+            headers.add(new RawMimeHeader(name(block, i, nameEnd), block, i, colon + 1, valueEnd));
+            i = lineEnd + 1;
+        }
+        buffer.position(next);
+        return headers;
+    }
+
+    /*
+     * Returns the index of the CR or LF which ends the line starting at the
+     * given index, or the limit if the line is not ended. A CR must be
+     * followed by LF.
+     */
+    private static int lineEnd(ByteBuffer buffer, int i, int limit) {
+        for (; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n')
+                return i;
+            if (b == '\r') {
+                if (i + 1 == limit || buffer.get(i + 1) != '\n')
+                    throw new IllegalArgumentException("Invalid MIME header block: CR not followed by LF");
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    // whether the bytes are a header name, without white space and control characters
+    private static boolean isName(byte[] b, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((b[i] & 0xff) <= ' ' || b[i] == 0x7f)
+                return false;
+        }
+        return true;
+    }
+
+    private void add(MimeHeader hdr) {
+        String key = fold(hdr.getName());
+        Group g = index.get(key);
+        if (g == null) {
+            g = new Group(key);
+            index.put(key, g);
+            if (last == null) {
+                first = g;
+            } else {
+                last.next = g;
+                g.prev = last;
+            }
+            last = g;
+        }
+        g.add(hdr);
+        size++;
+        modCount++;
+    }
+
+    private static final String[] WELL_KNOWN = {
+        CONTENT_TYPE, CONTENT_ID, CONTENT_LOCATION, CONTENT_TRANSFER_ENCODING, SOAP_ACTION
+    };
+
+    // decodes a header name, reusing the well-known names
+    private static String name(byte[] b, int start, int end) {
+        int len = end - start;
+        known:
+        for (String name : WELL_KNOWN) {
+            if (name.length() != len)
+                continue;
+            for (int i = 0; i < len; i++) {
+                if (b[start + i] != name.charAt(i))
+                    continue known;
+            }
+            return name;
+        }
+        return new String(b, start, len, StandardCharsets.ISO_8859_1);
+    }
+
+    // the length of the block, rejecting headers which would not be written as a single header
+    private int encodedLength() {
+        int length = 2;
+        for (Group g = first; g != null; g = g.next) {
+            for (int i = 0; i < g.size; i++) {
+                MimeHeader hdr = g.headers[i];
+                if (hdr instanceof RawMimeHeader && ((RawMimeHeader) hdr).isRaw()) {
+                    length += ((RawMimeHeader) hdr).rawLength();
+                } else if (hdr.getValue() != null) {
+                    length += nameLength(hdr.getName()) + valueLength(hdr.getValue()) + 4;
+                }
+            }
+        }
+        return length;
+    }
+
+    private static int nameLength(String name) {
+        if (name.isEmpty())
+            throw new IllegalArgumentException("Empty MIME header name");
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c <= ' ' || c == ':' || c == 0x7f)
+                throw new IllegalArgumentException("Invalid MIME header name: " + name);
+        }
+        return name.length();
+    }
+
+    // line ends are only allowed to fold the value, they are written as CRLF
+    private static int valueLength(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\r' && i + 1 < value.length() && value.charAt(i + 1) == '\n') {
+                c = value.charAt(++i);
+            } else if (c == '\n') {
+                length++;
+            }
+            if (c == '\n' ? !isFolding(value, i + 1) : c < ' ' && c != '\t' || c == 0x7f)
+                throw new IllegalArgumentException("Invalid MIME header value: " + value);
+        }
+        return length;
+    }
+
+    private static boolean isFolding(String value, int i) {
+        return i < value.length() && (value.charAt(i) == ' ' || value.charAt(i) == '\t');
+    }
+
+    private static void putAscii(ByteBuffer buffer, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            buffer.put(c < 0x80 ? (byte) c : (byte) '?');
+        }
     }
 
+    // writes a value checked by valueLength
+    private static void putValue(ByteBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\r' || c == '\n') {
+                if (c == '\r')
+                    i++;
+                buffer.put((byte) '\r').put((byte) '\n');
+            } else {
+                buffer.put(c < 0x80 ? (byte) c : (byte) '?');
+            }
+        }
+    }
+
+    // a header parsed from bytes, which decodes its value on first use
+    private static final class RawMimeHeader extends MimeHeader {
+        private final byte[] block;
+        private final int lineStart;
+        private final int valueStart;
+        // also the end of the line, without its line end
+        private final int valueEnd;
+        private volatile String value;
+
+        RawMimeHeader(String name, byte[] block, int lineStart, int valueStart, int valueEnd) {
+            super(name, null);
+            this.block = block;
+            this.lineStart = lineStart;
+            this.valueStart = valueStart;
+            this.valueEnd = valueEnd;
+        }
+
+        @Override
+        public String getValue() {
+            String v = value;
+            if (v == null) {
+                v = decode();
+                value = v;
+            }
+            return v;
+        }
+
+        private String decode() {
+            int start = valueStart;
+            int end = valueEnd;
+            while (start < end && (block[start] == ' ' || block[start] == '\t'))
+                start++;
+            while (end > start && (block[end - 1] == ' ' || block[end - 1] == '\t'))
+                end--;
+            boolean folded = false;
+            for (int i = start; i < end; i++) {
+                if (block[i] == '\r' || block[i] == '\n') {
+                    folded = true;
+                    break;
+                }
+            }
+            if (!folded)
+                return new String(block, start, end - start, StandardCharsets.ISO_8859_1);
+            // unfold: drop the line ends, keep the folding white space
+            StringBuilder sb = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                if (block[i] != '\r' && block[i] != '\n')
+                    sb.append((char) (block[i] & 0xff));
+            }
+            return sb.toString();
+        }
+
+        boolean isRaw() {
+            return value == null;
+        }
+
+        int rawLength() {
+            int length = valueEnd - lineStart + 2;
+            for (int i = lineStart; i < valueEnd; i++) {
+                if (block[i] == '\n' && block[i - 1] != '\r')
+                    length++;
+            }
+            return length;
+        }
+
+        // copies the line if the value has not been decoded, folding with CRLF
+        boolean writeTo(ByteBuffer buffer) {
+            if (value != null)
+                return false;
+            int from = lineStart;
+            for (int i = lineStart; i < valueEnd; i++) {
+                if (block[i] == '\n' && block[i - 1] != '\r') {
+                    buffer.put(block, from, i - from).put((byte) '\r');
+                    from = i;
+                }
+            }
+            buffer.put(block, from, valueEnd - from);
+            buffer.put((byte) '\r').put((byte) '\n');
+            return true;
+        }
+    }
+
+    /*
+     * Must be called before any modification. Copies the groups if they
+     * may be shared with another MimeHeaders object.
+     * Returns whether the groups have been copied.
+     */
+    private boolean beforeWrite() {
+        if (frozen)
+            throw frozen();
+        modified = true;
+        if (!shared)
+            return false;
+        HashMap<String, Group> copy = new HashMap<>();
+        Group prev = null;
+        for (Group g = first; g != null; g = g.next) {
+            Group c = new Group(g.key);
+            c.headers = Arrays.copyOf(g.headers, g.size);
+            c.size = g.size;
+            c.prev = prev;
+            if (prev == null)
+                first = c;
+            else
+                prev.next = c;
+            prev = c;
+            copy.put(c.key, c);
+        }
+        index = copy;
+        last = prev;
+        shared = false;
+        return true;
+    }
+
+    private static UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("MimeHeaders are frozen");
+    }
+
+    private Group group(String name) {
+        return name == null ? null : index.get(fold(name));
+    }
+
+    private void unlink(Group g) {
+        if (g.prev == null)
+            first = g.next;
+        else
+            g.prev.next = g.next;
+        if (g.next == null)
+            last = g.prev;
+        else
+            g.next.prev = g.prev;
+        size -= g.size;
+        modCount++;
+    }
+
+    /*
+     * Folds the name so that two names fold to the same key exactly when
+     * they are equal ignoring the case of ASCII letters. Header names are
+     * US-ASCII, so Unicode case mappings are not applied. The well-known
+     * names are recognized by reference and map to precomputed keys, whose
+     * hash codes are computed once.
+     */
+    static String fold(String name) {
+        if (name == CONTENT_TYPE)
+            return FOLDED_CONTENT_TYPE;
+        if (name == CONTENT_ID)
+            return FOLDED_CONTENT_ID;
+        if (name == CONTENT_LOCATION)
+            return FOLDED_CONTENT_LOCATION;
+        if (name == CONTENT_TRANSFER_ENCODING)
+            return FOLDED_CONTENT_TRANSFER_ENCODING;
+        if (name == SOAP_ACTION)
+            return FOLDED_SOAP_ACTION;
+
+        int len = name.length();
+        int i = 0;
+        while (i < len && !isUpperCase(name.charAt(i)))
+            i++;
+        if (i == len)
+            return name;
+        char[] chars = name.toCharArray();
+        for (; i < len; i++) {
+            char c = chars[i];
+            if (isUpperCase(c))
+                chars[i] = (char) (c + ('a' - 'A'));
+        }
+        return new String(chars);
+    }
+
+    private static boolean isUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    // iterates the groups in order, and the headers of each group in order
+    private final class HeaderIterator implements Iterator<MimeHeader> {
+        // names of the groups to iterate over, or not to, null for all groups
+        private final HeaderNameSet names;
+        private final boolean match;
+        private Group group;
+        private int i;
+        private Group lastGroup;
+        private int expectedModCount = modCount;
+
+        HeaderIterator(HeaderNameSet names, boolean match) {
+            this.names = names;
+            this.match = match;
+            group = accepted(first);
+        }
+
+        // the first accepted group starting with g
+        private Group accepted(Group g) {
+            if (names != null) {
+                while (g != null && names.containsFolded(g.key) != match)
+                    g = g.next;
+            }
+            return g;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return group != null;
+        }
+
+        @Override
+        public MimeHeader next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (group == null)
+                throw new NoSuchElementException();
+            MimeHeader hdr = group.headers[i];
+            lastGroup = group;
+            if (++i == group.size) {
+                group = accepted(group.next);
+                i = 0;
+            }
+            return hdr;
+        }
+
+        @Override
+        public void remove() {
+            if (lastGroup == null)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (beforeWrite()) {
+                // continue on the copies
+                lastGroup = index.get(lastGroup.key);
+                if (group != null)
+                    group = index.get(group.key);
+            }
+            if (lastGroup.size == 1) {
+                index.remove(lastGroup.key);
+                unlink(lastGroup);
+            } else {
+                // the removed header is the one before the cursor
+                int removed = lastGroup == group ? i - 1 : lastGroup.size - 1;
+                lastGroup.remove(removed);
+                size--;
+                modCount++;
+                if (lastGroup == group)
+                    i--;
+            }
+            lastGroup = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    // filters the headers of AttachmentPart and SOAPPart implementations
     static class MatchingIterator implements Iterator<MimeHeader> {
         private final boolean match;
         private final Iterator<MimeHeader> iterator;
-        private final String[] names;
+        private final HeaderNameSet names;
         private MimeHeader nextHeader;
 
-        MatchingIterator(String[] names, boolean match, Iterator<MimeHeader> i) {
+        MatchingIterator(HeaderNameSet names, boolean match, Iterator<MimeHeader> i) {
             this.match = match;
             this.names = names;
             this.iterator = i;
         }
 
         private MimeHeader nextMatch() {
-        next:
             while (iterator.hasNext()) {
                 MimeHeader hdr = iterator.next();
-
-                if (names == null)
-                    return match ? null : hdr;
-
-                for(int i = 0; i < names.length; i++)
-                    if (hdr.getName().equalsIgnoreCase(names[i]))
-                        if (match)
-                            return hdr;
-                        else
-                            continue next;
-                if (!match)
+                if (names.contains(hdr.getName()) == match)
                     return hdr;
             }
             return null;
@@ -211,16 +1011,12 @@ public class MimeHeaders {
 
         @Override
         public MimeHeader next() {
-            // hasNext should've prefetched the header for us,
-            // return it.
-            if (nextHeader != null) {
-                MimeHeader ret = nextHeader;
-                nextHeader = null;
-                return ret;
-            }
-            if (hasNext())
-                return nextHeader;
-            return null;
+            // hasNext prefetches the header for us
+            if (!hasNext())
+                throw new NoSuchElementException();
+            MimeHeader ret = nextHeader;
+            nextHeader = null;
+            return ret;
         }
 
         @Override
@@ -240,7 +1036,7 @@ public class MimeHeaders {
      *          objects whose name matches one of the names in the given list
      */
     public Iterator<MimeHeader> getMatchingHeaders(String[] names) {
-        return new MatchingIterator(names, true, headers.iterator());
+        return getHeadersIn(names == null ? HeaderNameSet.EMPTY : HeaderNameSet.of(names));
     }
 
     /**
@@ -253,6 +1049,34 @@ public class MimeHeaders {
      *          objects whose name does not match one of the names in the given list
      */
     public Iterator<MimeHeader> getNonMatchingHeaders(String[] names) {
-        return new MatchingIterator(names, false, headers.iterator());
+        return getHeadersNotIn(names == null ? HeaderNameSet.EMPTY : HeaderNameSet.of(names));
+    }
+
+    /**
+     * Returns all the {@code MimeHeader} objects whose name is in the
+     * given set of names.
+     *
+     * @param names the names for which to search
+     * @return  an {@code Iterator} object over the {@code MimeHeader}
+     *          objects whose name is in the given set
+     * @exception NullPointerException if {@code names} is {@code null}
+     * @since 3.1
+     */
+    public Iterator<MimeHeader> getHeadersIn(HeaderNameSet names) {
+        return new HeaderIterator(Objects.requireNonNull(names), true);
+    }
+
+    /**
+     * Returns all the {@code MimeHeader} objects whose name is not in the
+     * given set of names.
+     *
+     * @param names the names for which to search
+     * @return  an {@code Iterator} object over the {@code MimeHeader}
+     *          objects whose name is not in the given set
+     * @exception NullPointerException if {@code names} is {@code null}
+     * @since 3.1
+     */
+    public Iterator<MimeHeader> getHeadersNotIn(HeaderNameSet names) {
+        return new HeaderIterator(Objects.requireNonNull(names), false);
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the outcome of {@link FactoryFinder#find} per factory type,
+ * context class loader, value of the system property named after the
+ * factory type and, unless that property chose the provider, state of the
+ * service configuration files, so that subsequent lookups skip the system property,
+ * index, {@code ServiceLoader} and OSGi steps and only repeat the way the
+ * provider instance was created: the public no-arg constructor for the
+ * reflective steps, {@link ServiceLoader.Provider#get()} for the
+ * {@code ServiceLoader} step, the OSGi service loader for the OSGi step.
+ * <p>
+ * Class loaders are held weakly. The instantiator of a provider class defined
+ * by the context class loader (or one of its children) is attached to the
+ * provider class itself and only the class is held weakly, otherwise it would
+ * pin its own key and the class loader of a redeployed application would leak.
+ */
+final class ProviderCache {
+
+    // entries for threads without a context class loader
+    private static final Map<Class<?>, Entry> NO_LOADER = new ConcurrentHashMap<>();
+
+    private static final Map<ClassLoader, Map<Class<?>, Entry>> BY_LOADER = new WeakHashMap<>();
+
+    // instantiators of the weakly held provider classes, reachable from the class only
+    private static final ClassValue<Slot> SLOTS = new ClassValue<>() {
+        @Override
+        protected Slot computeValue(Class<?> type) {
+            return new Slot();
+        }
+    };
+
+    private ProviderCache() {
+    }
+
+    /**
+     * Returns the cached lookup outcome for the given factory type.
+     *
+     * @param loader       context class loader of the lookup, may be {@code null}
+     * @param factoryClass factory abstract class
+     * @return the cached entry, {@code null} if there is none
+     */
+    static Entry get(ClassLoader loader, Class<?> factoryClass) {
+        Map<Class<?>, Entry> entries = entries(loader, false);
+        return entries == null ? null : entries.get(factoryClass);
+    }
+
+    /**
+     * Records that the lookup legitimately found no provider for the given factory type.
+     *
+     * @param loader       context class loader of the lookup, may be {@code null}
+     * @param factoryClass factory abstract class
+     * @param property     value of the system property named after the factory at the time of the lookup
+     * @param configuration service configuration files seen by the lookup, see
+     *                      {@link ServiceLoaderUtil#configuration}
+     */
+    static void putNotFound(ClassLoader loader, Class<?> factoryClass, String property, Object configuration) {
+        entries(loader, true).put(factoryClass, new Entry(null, null, null, property, configuration, false));
+    }
+
+    /**
+     * Records the provider class the lookup instantiated through its public
+     * no-arg constructor.
+     *
+     * @param loader        context class loader of the lookup, may be {@code null}
+     * @param factoryClass  factory abstract class
+     * @param providerClass class of the provider found
+     * @param property      value of the system property named after the factory at the time of the lookup
+     * @param configuration service configuration files seen by the lookup, {@code null} if the
+     *                      provider does not depend on them
+     */
+    static void putClass(ClassLoader loader, Class<?> factoryClass, Class<?> providerClass, String property,
+                         Object configuration) {
+        Constructor<?> constructor;
+        try {
+            constructor = providerClass.getConstructor();
+        } catch (NoSuchMethodException | SecurityException e) {
+            // instance was not created through a public no-arg constructor,
+            // leave it on the full lookup
+            return;
+        }
+        put(loader, factoryClass, providerClass, constructor::newInstance, property, configuration, true);
+    }
+
+    /**
+     * Records the service provider the lookup instantiated.
+     *
+     * @param loader       context class loader of the lookup, may be {@code null}
+     * @param factoryClass factory abstract class
+     * @param provider     service provider found
+     * @param property     value of the system property named after the factory at the time of the lookup
+     * @param configuration service configuration files seen by the lookup
+     */
+    static void putProvider(ClassLoader loader, Class<?> factoryClass, ServiceLoader.Provider<?> provider,
+                            String property, Object configuration) {
+        put(loader, factoryClass, provider.type(), provider::get, property, configuration, false);
+    }
+
+    /**
+     * Records a way of creating provider instances which does not refer to
+     * the provider class, such as the OSGi service loader.
+     *
+     * @param loader       context class loader of the lookup, may be {@code null}
+     * @param factoryClass factory abstract class
+     * @param instantiator creates new provider instances
+     * @param property     value of the system property named after the factory at the time of the lookup
+     * @param configuration service configuration files seen by the lookup
+     */
+    static void putInstantiator(ClassLoader loader, Class<?> factoryClass, Instantiator instantiator,
+                                String property, Object configuration) {
+        entries(loader, true).put(factoryClass, new Entry(instantiator, null, null, property, configuration, false));
+    }
+
+    private static void put(ClassLoader loader, Class<?> factoryClass, Class<?> providerClass, Instantiator instantiator,
+                            String property, Object configuration, boolean reflective) {
+        Entry entry;
+        if (definedBy(providerClass, loader)) {
+            SLOTS.get(providerClass).instantiator = instantiator;
+            entry = new Entry(null, null, new WeakReference<>(providerClass), property, configuration, reflective);
+        } else {
+            entry = new Entry(instantiator, providerClass, null, property, configuration, reflective);
+        }
+        entries(loader, true).put(factoryClass, entry);
+    }
+
+    /**
+     * Forgets the cached entry for the given factory type, if any.
+     */
+    static void remove(ClassLoader loader, Class<?> factoryClass) {
+        Map<Class<?>, Entry> entries = entries(loader, false);
+        if (entries != null) {
+            entries.remove(factoryClass);
+        }
+    }
+
+    /**
+     * Forgets all entries cached for the given context class loader.
+     */
+    static void clear(ClassLoader loader) {
+        if (loader == null) {
+            NO_LOADER.clear();
+        } else {
+            synchronized (BY_LOADER) {
+                BY_LOADER.remove(loader);
+            }
+        }
+    }
+
+    /**
+     * Forgets all cached entries.
+     */
+    static void clear() {
+        NO_LOADER.clear();
+        synchronized (BY_LOADER) {
+            BY_LOADER.clear();
+        }
+    }
+
+    private static Map<Class<?>, Entry> entries(ClassLoader loader, boolean create) {
+        if (loader == null) {
+            return NO_LOADER;
+        }
+        synchronized (BY_LOADER) {
+            Map<Class<?>, Entry> entries = BY_LOADER.get(loader);
+            if (entries == null && create) {
+                entries = new ConcurrentHashMap<>();
+                BY_LOADER.put(loader, entries);
+            }
+            return entries;
+        }
+    }
+
+    // true if the class is defined by the given loader or by one of its children
+    private static boolean definedBy(final Class<?> c, final ClassLoader loader) {
+        if (loader == null) {
+            return false;
+        }
+        try {
+            return AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
+                for (ClassLoader cl = c.getClassLoader(); cl != null; cl = cl.getParent()) {
+                    if (cl == loader) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        } catch (SecurityException se) {
+            // cannot tell, stay on the safe side
+            return true;
+        }
+    }
+
+    /**
+     * Creates a new provider instance the same way the lookup did.
+     */
+    @FunctionalInterface
+    interface Instantiator {
+
+        /**
+         * Creates a new provider instance.
+         *
+         * @return new provider instance, {@code null} if none is available any more
+         * @throws ReflectiveOperationException if the instance cannot be created
+         */
+        Object newInstance() throws ReflectiveOperationException;
+    }
+
+    private static final class Slot {
+        volatile Instantiator instantiator;
+    }
+
+    /**
+     * Outcome of a single lookup.
+     */
+    static final class Entry {
+
+        private final Instantiator instantiator;
+        private final Class<?> type;
+        private final WeakReference<Class<?>> weakClass;
+        private final String property;
+        private final Object configuration;
+        private final boolean reflective;
+
+        private Entry(Instantiator instantiator, Class<?> type, WeakReference<Class<?>> weakClass,
+                      String property, Object configuration, boolean reflective) {
+            this.instantiator = instantiator;
+            this.type = type;
+            this.weakClass = weakClass;
+            this.property = property;
+            this.configuration = configuration;
+            this.reflective = reflective;
+        }
+
+        /**
+         * Tells whether the lookup found no provider.
+         */
+        boolean isNotFound() {
+            return instantiator == null && type == null && weakClass == null;
+        }
+
+        /**
+         * Tells whether the entry is the outcome of a lookup made while the
+         * system property named after the factory had the given value.
+         *
+         * @param value current value of the system property, may be {@code null}
+         */
+        boolean matches(String value) {
+            return Objects.equals(property, value);
+        }
+
+        /**
+         * Tells whether the entry is the outcome of a lookup made while the
+         * system property named after the factory had the given value and
+         * the service configuration files were the same as now.
+         *
+         * @param value        current value of the system property, may be {@code null}
+         * @param factoryClass factory abstract class
+         * @param loader       context class loader, may be {@code null}
+         */
+        boolean matches(String value, Class<?> factoryClass, ClassLoader loader) {
+            return matches(value) && (configuration == null
+                    || configuration.equals(ServiceLoaderUtil.configuration(factoryClass, loader)));
+        }
+
+        /**
+         * Tells whether the provider class was loaded by name, in which case
+         * the lookup checked the access to its package.
+         */
+        boolean isReflective() {
+            return reflective;
+        }
+
+        /**
+         * Returns the provider class.
+         *
+         * @return the provider class, {@code null} if it is not known or
+         *         no longer available
+         */
+        Class<?> type() {
+            return weakClass == null ? type : weakClass.get();
+        }
+
+        /**
+         * Creates a new provider instance.
+         *
+         * @return new provider instance, {@code null} if the provider
+         *         is no longer available
+         * @throws ReflectiveOperationException if the instance cannot be created
+         */
+        Object newInstance() throws ReflectiveOperationException {
+            Instantiator i = instantiator;
+            if (i == null) {
+                Class<?> c = weakClass.get();
+                i = c == null ? null : SLOTS.get(c).instantiator;
+            }
+            return i == null ? null : i.newInstance();
+        }
+    }
+}
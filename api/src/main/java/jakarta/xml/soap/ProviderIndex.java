@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Discovery index generated at build time, which maps SAAJ factory class
+ * names to the names of their implementation classes. It lets the lookup
+ * procedure find an implementation with a single resource lookup instead
+ * of scanning the service configuration files of all the jars.
+ * <p>
+ * The index is a {@link Properties} file at {@value #INDEX}. All the
+ * indexes a class loader sees are read once and merged, so that an index
+ * shipped by a library does not hide the others; a factory the indexes
+ * map to different implementations is left to the next lookup steps.
+ */
+final class ProviderIndex {
+
+    /**
+     * Location of the index.
+     */
+    static final String INDEX = "META-INF/jakarta.xml.soap/providers.properties";
+
+    private static final Map<ClassLoader, Map<String, String>> INDEXES = new WeakHashMap<>();
+
+    // index of the system class loader, used when there is no context class loader
+    private static volatile Map<String, String> systemIndex;
+
+    private ProviderIndex() {
+    }
+
+    /**
+     * Returns the name of the implementation class the index lists for
+     * the given factory.
+     *
+     * @param factoryId name of the factory class
+     * @param loader    class loader to read the index from, may be {@code null}
+     * @param logger    logger for read errors
+     * @return the implementation class name, {@code null} if there is no index,
+     *         no index lists the factory or the indexes disagree on it
+     */
+    static String lookup(String factoryId, ClassLoader loader, Logger logger) {
+        return index(loader, logger).get(factoryId);
+    }
+
+    private static Map<String, String> index(ClassLoader loader, Logger logger) {
+        if (loader == null) {
+            Map<String, String> index = systemIndex;
+            if (index == null) {
+                index = read(null, logger);
+                systemIndex = index;
+            }
+            return index;
+        }
+        Map<String, String> index;
+        synchronized (INDEXES) {
+            index = INDEXES.get(loader);
+        }
+        if (index == null) {
+            index = read(loader, logger);
+            synchronized (INDEXES) {
+                INDEXES.put(loader, index);
+            }
+        }
+        return index;
+    }
+
+    private static Map<String, String> read(final ClassLoader loader, Logger logger) {
+        return AccessController.doPrivileged((PrivilegedAction<Map<String, String>>) () -> {
+            Enumeration<URL> urls;
+            try {
+                urls = loader == null ? ClassLoader.getSystemResources(INDEX) : loader.getResources(INDEX);
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Discovery indexes cannot be listed", e);
+                return Collections.emptyMap();
+            }
+            Map<String, String> index = new HashMap<>();
+            Set<String> conflicts = new HashSet<>();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                logger.log(Level.FINE, "Reading discovery index {0}", url);
+                Properties props = new Properties();
+                try (InputStream in = url.openStream()) {
+                    props.load(in);
+                } catch (IOException e) {
+                    // it might disagree with the others, none of them can be trusted
+                    logger.log(Level.FINE, "Discovery index " + url + " cannot be read", e);
+                    return Collections.emptyMap();
+                }
+                for (String name : props.stringPropertyNames()) {
+                    String value = props.getProperty(name).trim();
+                    String previous = index.putIfAbsent(name, value);
+                    if (previous != null && !previous.equals(value)) {
+                        conflicts.add(name);
+                    }
+                }
+            }
+            for (String name : conflicts) {
+                logger.log(Level.FINE, "Discovery indexes disagree on {0}, ignoring it", name);
+                index.remove(name);
+            }
+            return index;
+        });
+    }
+
+    /**
+     * Forgets the index read from the given class loader.
+     *
+     * @param loader the class loader, {@code null} for the system class loader
+     */
+    static void clear(ClassLoader loader) {
+        if (loader == null) {
+            systemIndex = null;
+        } else {
+            synchronized (INDEXES) {
+                INDEXES.remove(loader);
+            }
+        }
+    }
+
+    /**
+     * Forgets all indexes read so far.
+     */
+    static void clear() {
+        systemIndex = null;
+        synchronized (INDEXES) {
+            INDEXES.clear();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ranks an implementation of a SAAJ factory among the implementations found
+ * by the {@link java.util.ServiceLoader} step of the lookup procedure.
+ * <p>
+ * The lookup procedure inspects the types of all service providers without
+ * instantiating them and instantiates only the one with the highest priority.
+ * Service providers without this annotation have priority {@code 0}; among
+ * providers of equal priority the first one found wins.
+ * <p>
+ * For a service provider with a public static {@code provider()} method the
+ * annotation is read from the class declaring that method.
+ *
+ * @since 3.1
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ProviderPriority {
+
+    /**
+     * The priority of the annotated implementation, higher values win.
+     *
+     * @return the priority
+     */
+    int value();
+}
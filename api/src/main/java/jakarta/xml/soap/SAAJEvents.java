@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+/**
+ * Emits JDK Flight Recorder events for the SAAJ hot paths.
+ * <p>
+ * The API itself emits the {@link Kind#FACTORY_LOOKUP} event, the other
+ * events are emitted by SAAJ implementations around their implementation
+ * of the corresponding API method:
+ * {@snippet :
+ *  SAAJEvents.Span span = SAAJEvents.begin(SAAJEvents.Kind.MESSAGE_WRITE);
+ *  // ... write the message
+ *  span.protocol(protocol).size(written).attachmentCount(countAttachments()).end();
+ * }
+ * When no flight recording is running, or the JDK Flight Recorder is not
+ * available at all, {@link #begin(Kind)} returns a shared span which ignores
+ * all calls, so the events can be left in place in production code.
+ *
+ * @since 3.1
+ */
+public final class SAAJEvents {
+
+    /**
+     * Kinds of SAAJ events.
+     */
+    public enum Kind {
+        /**
+         * Lookup of a SAAJ factory implementation.
+         * Uses {@link Span#factory}, {@link Span#provider} and {@link Span#cached}.
+         */
+        FACTORY_LOOKUP,
+        /**
+         * {@link MessageFactory#createMessage()} or
+         * {@link MessageFactory#createMessage(MimeHeaders, java.io.InputStream)}.
+         * Uses {@link Span#protocol}, {@link Span#contentType} and {@link Span#size}.
+         */
+        MESSAGE_CREATE,
+        /**
+         * {@link SOAPMessage#saveChanges()}.
+         * Uses {@link Span#protocol} and {@link Span#attachmentCount}.
+         */
+        MESSAGE_SAVE,
+        /**
+         * {@link SOAPMessage#writeTo(java.io.OutputStream)}.
+         * Uses {@link Span#protocol}, {@link Span#size} and {@link Span#attachmentCount}.
+         */
+        MESSAGE_WRITE,
+        /**
+         * Materialisation of the content of an {@link AttachmentPart}.
+         * Uses {@link Span#contentType} and {@link Span#size}.
+         */
+        ATTACHMENT_CONTENT,
+        /**
+         * {@link SOAPConnection#call(SOAPMessage, Object)}.
+         * Uses {@link Span#protocol}, {@link Span#endpoint}, {@link Span#size}
+         * (the request size) and {@link Span#responseSize}.
+         */
+        CONNECTION_CALL
+    }
+
+    static final Span NONE = new Span();
+
+    // jdk.jfr is an optional dependency
+    private static final boolean AVAILABLE = isAvailable();
+
+    private SAAJEvents() {
+    }
+
+    /**
+     * Starts timing an event of the given kind.
+     *
+     * @param kind kind of the event
+     * @return the span to fill in and {@linkplain Span#end() end}; a shared
+     *         span which ignores all calls if the event is not recorded
+     */
+    public static Span begin(Kind kind) {
+        if (AVAILABLE && JfrSupport.isRecording()) {
+            return JfrSupport.begin(kind);
+        }
+        return NONE;
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class<?> c = Class.forName("jdk.jfr.FlightRecorder");
+            return SAAJEvents.class.getModule().canRead(c.getModule())
+                    && JfrSupport.init();
+        } catch (ClassNotFoundException | LinkageError | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A single, timed event. Attributes which do not apply to the kind of
+     * the event are ignored.
+     */
+    public static class Span {
+
+        Span() {
+        }
+
+        /**
+         * Sets the name of the looked up factory class.
+         *
+         * @param factory the factory class name
+         * @return this span
+         */
+        public Span factory(String factory) {
+            return this;
+        }
+
+        /**
+         * Sets the name of the implementation class.
+         *
+         * @param provider the implementation class name
+         * @return this span
+         */
+        public Span provider(String provider) {
+            return this;
+        }
+
+        /**
+         * Sets whether the lookup has been answered from the cache.
+         *
+         * @param cached {@code true} if the lookup has been answered from the cache
+         * @return this span
+         */
+        public Span cached(boolean cached) {
+            return this;
+        }
+
+        /**
+         * Sets the SOAP protocol.
+         *
+         * @param protocol one of the {@link SOAPConstants} protocols
+         * @return this span
+         */
+        public Span protocol(String protocol) {
+            return this;
+        }
+
+        /**
+         * Sets the MIME content type.
+         *
+         * @param contentType the content type
+         * @return this span
+         */
+        public Span contentType(String contentType) {
+            return this;
+        }
+
+        /**
+         * Sets the size of the processed content.
+         *
+         * @param size the size in bytes, {@code -1} if unknown
+         * @return this span
+         */
+        public Span size(long size) {
+            return this;
+        }
+
+        /**
+         * Sets the number of attachments.
+         *
+         * @param count the number of attachments
+         * @return this span
+         */
+        public Span attachmentCount(int count) {
+            return this;
+        }
+
+        /**
+         * Sets the endpoint of a call.
+         *
+         * @param endpoint the endpoint
+         * @return this span
+         */
+        public Span endpoint(String endpoint) {
+            return this;
+        }
+
+        /**
+         * Sets the size of the response of a call.
+         *
+         * @param size the size in bytes, {@code -1} if unknown
+         * @return this span
+         */
+        public Span responseSize(long size) {
+            return this;
+        }
+
+        /**
+         * Stops timing and commits the event, if it is recorded.
+         */
+        public void end() {
+        }
+    }
+}
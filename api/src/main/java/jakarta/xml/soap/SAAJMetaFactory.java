@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,6 +10,17 @@
 
 package jakarta.xml.soap;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 /**
 * The access point for the implementation classes of the factories defined in the
 * SAAJ API. The {@code newInstance} methods defined on factories {@link SOAPFactory} and
@@ -30,6 +41,8 @@ package jakarta.xml.soap;
 *  to be the fully qualified name of the implementation class. This property, defined by previous specifications
  * (up to 1.3), is still supported, but it is strongly recommended to migrate to new property
  * {@code jakarta.xml.soap.SAAJMetaFactory}.
+*  <li> If the discovery index generated at build time lists an implementation of
+*  {@code jakarta.xml.soap.SAAJMetaFactory}, that implementation class is used.
 *  <li> Use the service-provider loading facilities, defined by the {@link java.util.ServiceLoader} class,
 *  to attempt to locate and load an implementation of the service using the {@linkplain
 *  java.util.ServiceLoader#load(java.lang.Class) default loading mechanism}.
@@ -37,7 +50,19 @@ package jakarta.xml.soap;
 * </ul>
 *
 * <p>
-* There are no public methods on this
+* Applications which know their implementation can skip the lookup procedure entirely
+* by binding it with {@link #setDefault(SAAJMetaFactory)} or {@link #setProvider(Class, Supplier)}.
+*
+* <p>
+* The outcome of the lookup procedure is remembered per factory, context class loader and
+* value of the system property named after the factory, so that subsequent {@code newInstance}
+* calls only instantiate the provider found before. The lookup procedure runs again when the
+* service configuration files seen by the context class loader change. Containers which replace
+* providers at runtime by other means, such as the discovery index, without replacing the context
+* class loader have to call {@link #invalidateProviderCache(ClassLoader)}.
+*
+* <p>
+* There are no public instance methods on this
 * class.
 *
 * @author SAAJ RI Development Team
@@ -74,6 +99,149 @@ public abstract class SAAJMetaFactory {
             }
     }
 
+    /**
+     * Discards the outcome of all previous lookups of SAAJ factories. The next call to
+     * {@code newInstance} of any SAAJ factory runs the full lookup procedure again.
+     *
+     * @since 3.1
+     */
+    public static void invalidateProviderCache() {
+        FactoryFinder.invalidate();
+    }
+
+    /**
+     * Discards the outcome of previous lookups of SAAJ factories performed with the given
+     * context class loader. The next call to {@code newInstance} of any SAAJ factory on a thread
+     * with this context class loader runs the full lookup procedure again, including reading
+     * the discovery index.
+     *
+     * @param loader the context class loader, {@code null} for threads without
+     *               a context class loader
+     * @since 3.1
+     */
+    public static void invalidateProviderCache(ClassLoader loader) {
+        FactoryFinder.invalidate(loader);
+    }
+
+    /**
+     * Binds the implementation of the given SAAJ factory. Once bound, the {@code newInstance}
+     * methods of the factory return instances obtained from the given supplier without
+     * running the lookup procedure at all; system properties, service configuration files and
+     * the platform default implementation are not consulted. The binding applies to all
+     * context class loaders and stays in place until it is replaced or removed.
+     * <p>
+     * Binding {@link SAAJMetaFactory} also binds the {@code newInstance(String)} methods
+     * of {@link MessageFactory} and {@link SOAPFactory}, which delegate to it.
+     *
+     * @param <T> type of the factory
+     * @param factoryClass one of {@link MessageFactory}, {@link SOAPFactory},
+     *                     {@link SOAPConnectionFactory} or {@code SAAJMetaFactory}
+     * @param provider supplier of the implementation instances, it must not return {@code null};
+     *                 {@code null} to remove the binding and use the lookup procedure again
+     * @exception IllegalArgumentException if {@code factoryClass} is not a SAAJ factory
+     * @exception SecurityException if a security manager exists and it denies
+     *            {@code RuntimePermission("setFactory")}
+     * @since 3.1
+     */
+    public static <T> void setProvider(Class<T> factoryClass, Supplier<? extends T> provider) {
+        if (factoryClass != MessageFactory.class
+                && factoryClass != SOAPFactory.class
+                && factoryClass != SOAPConnectionFactory.class
+                && factoryClass != SAAJMetaFactory.class) {
+            throw new IllegalArgumentException("Not a SAAJ factory: " + factoryClass);
+        }
+        SecurityManager sm = System.getSecurityManager();
+        if (sm != null) {
+            sm.checkPermission(new RuntimePermission("setFactory"));
+        }
+        FactoryFinder.bind(factoryClass, provider);
+    }
+
+    /**
+     * Binds the given {@code SAAJMetaFactory} as the implementation returned by the lookup
+     * procedure. Equivalent to {@code setProvider(SAAJMetaFactory.class, () -> metaFactory)}.
+     *
+     * @param metaFactory the meta factory to use, {@code null} to use the lookup procedure again
+     * @exception SecurityException if a security manager exists and it denies
+     *            {@code RuntimePermission("setFactory")}
+     * @see #setProvider(Class, Supplier)
+     * @since 3.1
+     */
+    public static void setDefault(SAAJMetaFactory metaFactory) {
+        setProvider(SAAJMetaFactory.class, metaFactory == null ? null : () -> metaFactory);
+    }
+
+    /**
+     * Returns the report of the latest run of the lookup procedure for the given SAAJ factory.
+     * The report tells which steps of the lookup procedure were tried, how long each of them
+     * took and which implementation class has been chosen. Lookups answered from the cache of
+     * previous lookups do not replace the report.
+     *
+     * @param factoryClass one of {@link MessageFactory}, {@link SOAPFactory},
+     *                     {@link SOAPConnectionFactory} or {@code SAAJMetaFactory}
+     * @return the report, {@code null} if the factory has not been looked up yet
+     * @since 3.1
+     */
+    public static DiscoveryReport getDiscoveryReport(Class<?> factoryClass) {
+        return FactoryFinder.report(factoryClass);
+    }
+
+    /**
+     * Prepares the SAAJ implementation for the first real request. Obtains the factories through
+     * {@link MessageFactory#shared(String)} and {@link SOAPFactory#shared(String)}, as applications
+     * do, and runs a canned message cycle for each of the configured protocols: creates a message
+     * with a body element built by the {@code SOAPFactory} and, optionally, an attachment, saves
+     * and writes it, and parses the written bytes back with
+     * {@link MessageFactory#createMessage(MimeHeaders, java.io.InputStream)}.
+     * This loads the classes of the implementation and its XML parsers and gives the JIT compiler
+     * a chance to compile them before the application is exposed to traffic.
+     *
+     * @param options what to warm up, {@code null} for the defaults
+     * @return the time the warm-up took
+     * @exception SOAPException if the implementation cannot be found or the message cycle fails
+     * @since 3.1
+     */
+    public static Duration warmUp(WarmUpOptions options) throws SOAPException {
+        if (options == null) {
+            options = new WarmUpOptions();
+        }
+        long start = System.nanoTime();
+        for (String protocol : options.getProtocols()) {
+            MessageFactory messageFactory = MessageFactory.shared(protocol);
+            SOAPFactory soapFactory = SOAPFactory.shared(protocol);
+            for (int i = 0; i < options.getIterations(); i++) {
+                warmUp(messageFactory, soapFactory, options.isAttachments());
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static void warmUp(MessageFactory messageFactory, SOAPFactory soapFactory, boolean attachment)
+            throws SOAPException {
+        SOAPMessage message = messageFactory.createMessage();
+        SOAPElement element = soapFactory.createElement("warmUp", "w", "urn:jakarta:xml:soap:warmup");
+        element.addTextNode("warm-up");
+        message.getSOAPBody().addChildElement(element);
+        if (attachment) {
+            message.addAttachmentPart(message.createAttachmentPart("warm-up", "text/plain"));
+        }
+        message.saveChanges();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            message.writeTo(out);
+            MimeHeaders headers = MimeHeaders.copyOf(message.getMimeHeaders());
+            SOAPMessage parsed = messageFactory.createMessage(headers, new ByteArrayInputStream(out.toByteArray()));
+            parsed.getSOAPBody().getChildElements().hasNext();
+            Iterator<AttachmentPart> attachments = parsed.getAttachments();
+            while (attachments.hasNext()) {
+                attachments.next().getContent();
+            }
+        } catch (IOException e) {
+            throw new SOAPException("Warm-up message cycle failed", e);
+        }
+    }
+
     /**
      * Default constructor.
      */
@@ -108,4 +276,105 @@ public abstract class SAAJMetaFactory {
       */
     protected abstract SOAPFactory newSOAPFactory(String protocol)
         throws SOAPException;
+
+    /**
+     * Tells whether the {@code MessageFactory} and {@code SOAPFactory} objects created by this
+     * meta factory are safe for use by multiple concurrent threads. If so, {@link MessageFactory#shared(String)}
+     * and {@link SOAPFactory#shared(String)} return a single instance per protocol.
+     * <p>
+     * This method is consulted by the API only, and its answer may be reused for all the
+     * instances of the implementation class, so it must not depend on the state of the instance.
+     * Applications do not call it; they obtain factories which may be shared through the
+     * {@code shared} methods, whether or not the implementation is thread safe.
+     * <p>
+     * The default implementation returns {@code false}; implementations whose factories hold no
+     * per-call state override it to return {@code true}.
+     *
+     * @return {@code true} if the factories created by this meta factory are thread safe
+     * @since 3.1
+     */
+    protected boolean isThreadSafe() {
+        return false;
+    }
+
+    // factories shared across threads, held by the meta factory class so they go away with it
+    private static final class SharedFactories {
+        // set once the meta factory has been asked
+        volatile boolean threadSafe;
+        final Map<String, MessageFactory> messageFactories = new ConcurrentHashMap<>();
+        final Map<String, SOAPFactory> soapFactories = new ConcurrentHashMap<>();
+    }
+
+    private static final ClassValue<SharedFactories> SHARED_FACTORIES = new ClassValue<>() {
+        @Override
+        protected SharedFactories computeValue(Class<?> type) {
+            return new SharedFactories();
+        }
+    };
+
+    // the shared factories of the meta factory a previous lookup found, without instantiating it
+    private static SharedFactories cachedSharedFactories() {
+        Class<?> type = FactoryFinder.cachedType(SAAJMetaFactory.class);
+        return type == null ? null : SHARED_FACTORIES.get(type);
+    }
+
+    private static SharedFactories sharedFactories(SAAJMetaFactory metaFactory) {
+        // keyed the same way as by cachedSharedFactories
+        Class<?> type = FactoryFinder.cachedType(SAAJMetaFactory.class);
+        SharedFactories shared = SHARED_FACTORIES.get(type == null ? metaFactory.getClass() : type);
+        shared.threadSafe = metaFactory.isThreadSafe();
+        return shared;
+    }
+
+    static MessageFactory sharedMessageFactory(String protocol) throws SOAPException {
+        return shared(protocol, shared -> shared.messageFactories, SAAJMetaFactory::newMessageFactory,
+                factory -> factory.shared = true);
+    }
+
+    static SOAPFactory sharedSOAPFactory(String protocol) throws SOAPException {
+        return shared(protocol, shared -> shared.soapFactories, SAAJMetaFactory::newSOAPFactory,
+                factory -> { });
+    }
+
+    // creates a factory of one kind through the given meta factory
+    private interface FactoryCreator<F> {
+        F create(SAAJMetaFactory metaFactory, String protocol) throws SOAPException;
+    }
+
+    // the factory shared for the protocol if the meta factory is thread safe, a new one otherwise;
+    // publish is applied once to the instance about to be shared
+    private static <F> F shared(String protocol,
+                                Function<SharedFactories, Map<String, F>> factories,
+                                FactoryCreator<F> creator,
+                                Consumer<? super F> publish) throws SOAPException {
+        if (protocol != null) {
+            // no lookup at all once the factory has been created
+            SharedFactories shared = cachedSharedFactories();
+            if (shared != null && shared.threadSafe) {
+                F factory = factories.apply(shared).get(protocol);
+                if (factory != null) {
+                    return factory;
+                }
+            }
+        }
+        SAAJMetaFactory metaFactory = getInstance();
+        if (protocol == null) {
+            return creator.create(metaFactory, protocol);
+        }
+        SharedFactories shared = sharedFactories(metaFactory);
+        if (!shared.threadSafe) {
+            return creator.create(metaFactory, protocol);
+        }
+        Map<String, F> map = factories.apply(shared);
+        F factory = map.get(protocol);
+        if (factory == null) {
+            factory = creator.create(metaFactory, protocol);
+            publish.accept(factory);
+            F other = map.putIfAbsent(protocol, factory);
+            if (other != null) {
+                factory = other;
+            }
+        }
+        return factory;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -163,6 +163,40 @@ public interface SOAPElement extends Node, org.w3c.dom.Element {
      */
     void removeContents();
 
+    /**
+     * Marks this {@code SOAPElement} object and its descendants as frozen:
+     * the application promises not to modify the subtree anymore, typically
+     * a header block or a body fragment which is the same in every message.
+     * <p>
+     * Implementations may then cache the serialized form of the subtree,
+     * per character encoding, and have {@link SOAPMessage#writeTo(java.io.OutputStream)}
+     * write the cached bytes instead of serializing the subtree again.
+     * Implementations which do so throw an {@code UnsupportedOperationException}
+     * or a {@code DOMException} when a frozen subtree is modified. Detaching
+     * the frozen element itself from its parent is allowed.
+     * <p>
+     * Freezing is a hint. The default implementation does nothing.
+     *
+     * @see #isFrozen()
+     * @since 3.1
+     */
+    default void freeze() {
+    }
+
+    /**
+     * Tells whether this {@code SOAPElement} object belongs to a subtree
+     * which has been {@linkplain #freeze() frozen} and whose serialized
+     * form may be cached by the implementation.
+     * <p>
+     * The default implementation returns {@code false}.
+     *
+     * @return {@code true} if this element is frozen
+     * @since 3.1
+     */
+    default boolean isFrozen() {
+        return false;
+    }
+
     /**
      * Creates a new {@code Text} object initialized with the given
      * {@code String} and adds it to this {@code SOAPElement} object.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -27,6 +27,10 @@ import org.w3c.dom.Element;
  * {@code SOAPFactory} also has methods to create
  * {@code jakarta.xml.soap.Detail} objects as well as
  * {@code java.xml.soap.Name} objects.
+ * <p>
+ * {@code SOAPFactory} objects are not guaranteed to be safe for use by multiple
+ * concurrent threads, unless obtained through {@link #shared(String)} from an
+ * implementation which declares them thread safe.
  *
  * @since 1.6
  */
@@ -279,4 +283,32 @@ public abstract class SOAPFactory {
         throws SOAPException {
             return SAAJMetaFactory.getInstance().newSOAPFactory(protocol);
     }
+
+    /**
+     * Returns a {@code SOAPFactory} object for the specified protocol which
+     * may be shared by all threads of the application.
+     * <p>
+     * If the SAAJ implementation declares its factories thread safe
+     * (see {@link SAAJMetaFactory#isThreadSafe()}), the same instance is returned
+     * for all calls with the same protocol and the instance may be used by multiple
+     * concurrent threads. Otherwise a new instance is returned on each call,
+     * exactly as by {@link #newInstance(String)}.
+     *
+     * @param protocol  a string constant representing the protocol of the
+     *                   specified SOAP factory implementation. May be
+     *                   either {@code DYNAMIC_SOAP_PROTOCOL},
+     *                   {@code DEFAULT_SOAP_PROTOCOL} (which is the same
+     *                   as) {@code SOAP_1_1_PROTOCOL}, or
+     *                   {@code SOAP_1_2_PROTOCOL}.
+     * @return a shared or a new instance of a {@code SOAPFactory}
+     *
+     * @exception SOAPException if there was an error creating the
+     *            specified {@code SOAPFactory}
+     * @see SAAJMetaFactory#isThreadSafe()
+     * @since 3.1
+     */
+    public static SOAPFactory shared(String protocol)
+        throws SOAPException {
+            return SAAJMetaFactory.sharedSOAPFactory(protocol);
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,10 +10,32 @@
 
 package jakarta.xml.soap;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
 
 import jakarta.activation.DataHandler;
 
@@ -174,6 +196,70 @@ public abstract class SOAPMessage {
         throw new UnsupportedOperationException("getSOAPHeader must be overridden by all subclasses of SOAPMessage");
     }
 
+    /**
+     * Returns a reader of the XML document which holds the SOAP envelope of
+     * this {@code SOAPMessage} object, positioned at the start of the
+     * document. It gives pull access to the envelope without building the
+     * DOM tree behind the {@code SOAPPart}.
+     * <P>
+     * For messages created by
+     * {@link MessageFactory#createMessage(MimeHeaders, java.io.InputStream)}
+     * whose {@code SOAPPart} has not been accessed yet, implementations
+     * should stream from the received bytes and leave the {@code SOAPPart}
+     * unparsed, see {@link MessageFactory#LAZY_PARSING}. Reading the envelope
+     * this way may consume it: calling other methods of this message
+     * afterwards is then implementation specific.
+     * <P>
+     * The default implementation reads the
+     * {@linkplain SOAPPart#getContent() content of the SOAPPart}, streaming
+     * it if it is a {@code StAXSource} or a {@code StreamSource} and
+     * serializing it first otherwise. Document type declarations are not
+     * supported, as they are not allowed in SOAP messages.
+     *
+     * @return a reader of the SOAP envelope; the caller must close it
+     * @exception SOAPException if the envelope cannot be read
+     * @since 3.1
+     */
+    public XMLStreamReader getEnvelopeReader() throws SOAPException {
+        Source source = getSOAPPart().getContent();
+        try {
+            if (source instanceof StAXSource) {
+                XMLStreamReader reader = ((StAXSource) source).getXMLStreamReader();
+                if (reader != null)
+                    return reader;
+            }
+            if (!(source instanceof StreamSource)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                EnvelopeInput.newTransformer().transform(source, new StreamResult(out));
+                source = new StreamSource(new ByteArrayInputStream(out.toByteArray()));
+            }
+            return EnvelopeInput.newReader(source);
+        } catch (XMLStreamException | TransformerException e) {
+            throw new SOAPException("Unable to read the SOAP envelope", e);
+        }
+    }
+
+    // factories of the default getEnvelopeReader, created on first use; JAXP does not
+    // specify them as thread safe, so they are only used under the lock of this class
+    private static final class EnvelopeInput {
+        private static final XMLInputFactory INPUT = XMLInputFactory.newFactory();
+        private static final TransformerFactory TRANSFORMER = TransformerFactory.newInstance();
+
+        static {
+            INPUT.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+            INPUT.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+            INPUT.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        }
+
+        static synchronized XMLStreamReader newReader(Source source) throws XMLStreamException {
+            return INPUT.createXMLStreamReader(source);
+        }
+
+        static synchronized Transformer newTransformer() throws TransformerException {
+            return TRANSFORMER.newTransformer();
+        }
+    }
+
     /**
      * Removes all {@code AttachmentPart} objects that have been added
      * to this {@code SOAPMessage} object.
@@ -182,6 +268,102 @@ public abstract class SOAPMessage {
      */
     public abstract void removeAllAttachments();
 
+    /**
+     * Creates a copy of this {@code SOAPMessage} object: the SOAP part, the
+     * attachments and the MIME headers are copied, so that changes to either
+     * message do not affect the other one.
+     * <p>
+     * Implementations should share the unchanged parts of the two messages,
+     * such as header blocks and namespace declarations, copying them only
+     * when either message modifies them, which makes copying cheap enough
+     * to stamp out messages from a {@link MessageTemplate}.
+     * <p>
+     * The default implementation saves the changes of this message if
+     * required, externalizes it and internalizes the result with the shared
+     * {@code MessageFactory} of the protocol of the envelope. Properties of
+     * this message are not copied.
+     *
+     * @return a new {@code SOAPMessage} object with the same content
+     * @exception SOAPException if the message cannot be copied
+     * @see MessageTemplate
+     * @since 3.1
+     */
+    public SOAPMessage copy() throws SOAPException {
+        if (saveRequired())
+            saveChanges();
+        String protocol = envelopeProtocol();
+        try {
+            BufferOutputStream out = new BufferOutputStream();
+            writeTo(out);
+            return MessageFactory.shared(protocol).createMessage(
+                    MimeHeaders.copyOf(getMimeHeaders()),
+                    out.toInputStream());
+        } catch (IOException e) {
+            throw new SOAPException("Unable to copy the message", e);
+        }
+    }
+
+    // protocol matching the namespace of the envelope
+    String envelopeProtocol() throws SOAPException {
+        return SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE.equals(
+                getSOAPPart().getEnvelope().getNamespaceURI())
+                ? SOAPConstants.SOAP_1_2_PROTOCOL : SOAPConstants.SOAP_1_1_PROTOCOL;
+    }
+
+    /**
+     * Resets this {@code SOAPMessage} object so that it can be reused in
+     * place of a new message created by {@link MessageFactory#createMessage()}
+     * with the same {@code MessageFactory}: the contents of the SOAP header
+     * and SOAP body, the attributes and namespace declarations added to the
+     * envelope, header and body, the attachments and the MIME headers are
+     * removed, while the envelope and the resources allocated by the
+     * implementation are kept. The properties of the message are not changed.
+     * <p>
+     * Nodes and attachments obtained from this message before the reset
+     * must not be used afterwards.
+     * <p>
+     * The default implementation removes the attachments, the MIME headers,
+     * the contents of the SOAP header and SOAP body, and all the attributes
+     * and namespace declarations of the envelope, header and body except the
+     * declaration of their own prefix, adding a SOAP header if there is none.
+     * Implementations override it to recycle the removed nodes and buffers,
+     * or when their new messages carry further attributes or declarations.
+     *
+     * @exception SOAPException if the message cannot be reset
+     * @since 3.1
+     */
+    public void reset() throws SOAPException {
+        removeAllAttachments();
+        getMimeHeaders().removeAllHeaders();
+        SOAPEnvelope envelope = getSOAPPart().getEnvelope();
+        SOAPHeader header = envelope.getHeader();
+        if (header == null) {
+            envelope.addHeader();
+        } else {
+            header.removeContents();
+            removeAttributes(header);
+        }
+        SOAPBody body = envelope.getBody();
+        body.removeContents();
+        removeAttributes(body);
+        removeAttributes(envelope);
+    }
+
+    // removes what a new message would not have, such as wsu:Id or xmlns:wsse
+    private static void removeAttributes(SOAPElement element) {
+        List<QName> attributes = new ArrayList<>();
+        element.getAllAttributesAsQNames().forEachRemaining(attributes::add);
+        for (QName attribute : attributes)
+            element.removeAttribute(attribute);
+        List<String> prefixes = new ArrayList<>();
+        element.getNamespacePrefixes().forEachRemaining(prefixes::add);
+        String own = element.getPrefix() == null ? "" : element.getPrefix();
+        for (String prefix : prefixes) {
+            if (!prefix.equals(own))
+                element.removeNamespaceDeclaration(prefix);
+        }
+    }
+
     /**
      * Gets a count of the number of attachments in this message. This count
      * does not include the SOAP part.
@@ -354,6 +536,13 @@ public abstract class SOAPMessage {
      * In addition, this method marks the point at which the data from all
      * constituent {@code AttachmentPart} objects are pulled into the
      * message.
+     * <P>
+     * Implementations should only recompute what has changed since the
+     * last save: {@link SOAPPart#isModified()},
+     * {@link AttachmentPart#isModified()} and {@link MimeHeaders#isModified()}
+     * tell which parts of the message have been modified, so that, for
+     * example, changing a MIME header of a message with large attachments
+     * does not cause the attachments to be processed again.
      *
      * @exception SOAPException if there was a problem saving
      *            changes to this message.
@@ -392,6 +581,121 @@ public abstract class SOAPMessage {
     public abstract void writeTo(OutputStream out)
         throws SOAPException, IOException;
 
+    /**
+     * Transfers this {@code SOAPMessage} object to the given channel. The bytes
+     * written are the same as the ones {@link #writeTo(OutputStream)} writes.
+     * The buffers returned by {@link #toByteBuffers()} are written with
+     * gathering writes if the channel is a {@link GatheringByteChannel}, so
+     * the envelope and the attachments are written without being copied
+     * into a stream first.
+     * <P>
+     * Note that this method does not write the transport-specific MIME Headers
+     * of the Message
+     *
+     * @param channel
+     *           the channel to which this {@code SOAPMessage} object will be
+     *           written; if it is a {@link SelectableChannel}, it must be in
+     *           blocking mode
+     * @return the number of bytes written
+     * @exception IllegalBlockingModeException
+     *               if the channel is in non-blocking mode
+     * @exception IOException
+     *               if an I/O error occurs
+     * @exception SOAPException
+     *               if there was a problem in externalizing this SOAP message
+     * @since 3.1
+     */
+    public long transferTo(WritableByteChannel channel)
+        throws SOAPException, IOException {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking())
+            throw new IllegalBlockingModeException();
+        ByteBuffer[] buffers = toByteBuffers();
+        long written = 0;
+        if (channel instanceof GatheringByteChannel) {
+            GatheringByteChannel gathering = (GatheringByteChannel) channel;
+            int offset = 0;
+            while (offset < buffers.length) {
+                written += gathering.write(buffers, offset, buffers.length - offset);
+                while (offset < buffers.length && !buffers[offset].hasRemaining())
+                    offset++;
+            }
+        } else {
+            for (ByteBuffer buffer : buffers) {
+                while (buffer.hasRemaining())
+                    written += channel.write(buffer);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Returns the externalized form of this {@code SOAPMessage} object as a
+     * sequence of buffers, which together hold the same bytes as the ones
+     * {@link #writeTo(OutputStream)} writes. Implementations should return
+     * the envelope and the content of each {@code AttachmentPart}, with the
+     * MIME boundaries and part headers between them, as separate buffers,
+     * so that large attachments are not copied; buffers may be read-only or
+     * direct, for example mapped from a file.
+     * <P>
+     * The default implementation writes the message with
+     * {@link #writeTo(OutputStream)} and returns a single buffer.
+     *
+     * @return buffers to be written in order, from their position to their limit
+     * @exception IOException
+     *               if an I/O error occurs
+     * @exception SOAPException
+     *               if there was a problem in externalizing this SOAP message
+     * @see #transferTo(WritableByteChannel)
+     * @since 3.1
+     */
+    public ByteBuffer[] toByteBuffers() throws SOAPException, IOException {
+        BufferOutputStream out = new BufferOutputStream();
+        writeTo(out);
+        return new ByteBuffer[] {out.toByteBuffer()};
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(OutputStream)} would write,
+     * without externalizing this {@code SOAPMessage} object. It allows
+     * transports to send a {@code Content-Length} header without buffering
+     * the message.
+     * <P>
+     * Implementations compute the length from the size of the serialized
+     * envelope, the sizes of the attachments, as reported by
+     * {@link AttachmentPart#getSize()}, and the MIME boundaries and part
+     * headers. If any of these cannot be determined without externalizing
+     * the message, for example because an attachment is backed by a stream,
+     * an empty result is returned. Changes made to the message after this
+     * method was called are not reflected in the returned length.
+     * <P>
+     * The default implementation returns an empty result.
+     *
+     * @return the length in bytes, or an empty result if it cannot be
+     *         determined without externalizing the message
+     * @exception SOAPException
+     *               if there was a problem in computing the length
+     * @since 3.1
+     */
+    public OptionalLong getContentLength() throws SOAPException {
+        return OptionalLong.empty();
+    }
+
+    // gives access to the written bytes without copying them
+    static final class BufferOutputStream extends ByteArrayOutputStream {
+
+        BufferOutputStream() {
+            super(8192);
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+
+        ByteArrayInputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
     /**
      * Associates the specified value with the specified property. If there was
      * already a value associated with this property, the old value is
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2004, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2004, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -11,6 +11,8 @@
 package jakarta.xml.soap;
 
 import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 import javax.xml.transform.Source;
 
@@ -21,7 +23,7 @@ import javax.xml.transform.Source;
  * have a {@code SOAPPart} object.
  * <P>
  * A {@code SOAPPart} object is a MIME part and has the MIME headers
- * Content-Id, Content-Location, and Content-Type.  Because the value of
+ * Content-ID, Content-Location, and Content-Type.  Because the value of
  * Content-Type must be "text/xml", a {@code SOAPPart} object automatically
  * has a MIME header of Content-Type with its value set to "text/xml".
  * The value must be "text/xml" because content in the SOAP part of a
@@ -71,17 +73,14 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
     public abstract SOAPEnvelope getEnvelope() throws SOAPException;
 
     /**
-     * Retrieves the value of the MIME header whose name is "Content-Id".
+     * Retrieves the value of the MIME header whose name is "Content-ID".
      *
      * @return a {@code String} giving the value of the MIME header
-     *         named "Content-Id"
+     *         named "Content-ID"
      * @see #setContentId
      */
     public String getContentId() {
-        String[] values = getMimeHeader("Content-Id");
-        if (values != null && values.length > 0)
-            return values[0];
-        return null;
+        return getFirstMimeHeader(MimeHeaders.CONTENT_ID);
     }
 
     /**
@@ -92,18 +91,15 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
      * @see #setContentLocation
      */
     public String getContentLocation() {
-        String[] values = getMimeHeader("Content-Location");
-        if (values != null && values.length > 0)
-            return values[0];
-        return null;
+        return getFirstMimeHeader(MimeHeaders.CONTENT_LOCATION);
     }
 
     /**
-     * Sets the value of the MIME header named "Content-Id"
+     * Sets the value of the MIME header named "Content-ID"
      * to the given {@code String}.
      *
      * @param contentId a {@code String} giving the value of the MIME
-     *        header "Content-Id"
+     *        header "Content-ID"
      *
      * @exception IllegalArgumentException if there is a problem in
      * setting the content id
@@ -111,7 +107,7 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
      */
     public void setContentId(String contentId)
     {
-        setMimeHeader("Content-Id", contentId);
+        setMimeHeader(MimeHeaders.CONTENT_ID, contentId);
     }
     /**
      * Sets the value of the MIME header "Content-Location"
@@ -126,7 +122,7 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
      */
     public void setContentLocation(String contentLocation)
     {
-        setMimeHeader("Content-Location", contentLocation);
+        setMimeHeader(MimeHeaders.CONTENT_LOCATION, contentLocation);
     }
     /**
      * Removes all MIME headers that match the given name.
@@ -142,6 +138,33 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
      */
     public abstract void removeAllMimeHeaders();
 
+    /**
+     * Tells whether this {@code SOAPPart} object has been modified since it
+     * was last saved by {@link SOAPMessage#saveChanges()}, so that saving
+     * the message can skip the parts which did not change.
+     * <p>
+     * The default implementation returns {@code true}, as it cannot know
+     * about modifications. Implementations which track modifications
+     * override this method together with {@link #clearModified()}.
+     *
+     * @return {@code true} if this part may have been modified
+     * @since 3.1
+     */
+    public boolean isModified() {
+        return true;
+    }
+
+    /**
+     * Marks this {@code SOAPPart} object as not modified. Called by
+     * {@link SOAPMessage#saveChanges()} implementations once the
+     * changes have been saved. The default implementation does nothing.
+     *
+     * @see #isModified()
+     * @since 3.1
+     */
+    public void clearModified() {
+    }
+
     /**
      * Gets all the values of the {@code MimeHeader} object
      * in this {@code SOAPPart} object that
@@ -154,6 +177,62 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
      */
     public abstract String[] getMimeHeader(String name);
 
+    /**
+     * Gets the first value of the header identified by the given
+     * {@code String}. The default implementation returns the first element
+     * of {@link #getMimeHeader(String)}; implementations should override it
+     * to avoid allocating the array.
+     *
+     * @param name the name of the header; example: "Content-Type"
+     * @return the first value of the specified header, {@code null}
+     *         if there is none
+     * @see #getMimeHeader
+     * @since 3.1
+     */
+    public String getFirstMimeHeader(String name) {
+        String[] values = getMimeHeader(name);
+        if (values != null && values.length > 0)
+            return values[0];
+        return null;
+    }
+
+    /**
+     * Performs the given action for each value of the header identified
+     * by the given {@code String}. The default implementation iterates
+     * over {@link #getMimeHeader(String)}; implementations should override
+     * it to avoid allocating the array.
+     *
+     * @param name the name of the header; example: "Content-Type"
+     * @param action the action to perform for each value
+     * @exception NullPointerException if the action is {@code null}
+     * @see #getMimeHeader
+     * @since 3.1
+     */
+    public void forEachMimeHeader(String name, Consumer<? super String> action) {
+        Objects.requireNonNull(action);
+        String[] values = getMimeHeader(name);
+        if (values != null) {
+            for (String value : values)
+                action.accept(value);
+        }
+    }
+
+    /**
+     * Gets the number of values of the header identified by the given
+     * {@code String}. The default implementation returns the length of
+     * {@link #getMimeHeader(String)}; implementations should override it
+     * to avoid allocating the array.
+     *
+     * @param name the name of the header; example: "Content-Type"
+     * @return the number of values of the specified header
+     * @see #getMimeHeader
+     * @since 3.1
+     */
+    public int getMimeHeaderCount(String name) {
+        String[] values = getMimeHeader(name);
+        return values == null ? 0 : values.length;
+    }
+
     /**
      * Changes the first header entry that matches the given header name
      * so that its value is the given value, adding a new header with the
@@ -230,6 +309,36 @@ public abstract class SOAPPart implements org.w3c.dom.Document, Node {
      */
     public abstract Iterator<MimeHeader> getNonMatchingMimeHeaders(String[] names);
 
+    /**
+     * Retrieves all {@code MimeHeader} objects whose name is in the
+     * given set. The default implementation filters
+     * {@link #getAllMimeHeaders()}.
+     *
+     * @param names the names of the MIME headers to be returned
+     * @return  all the MIME headers whose name is in the given set
+     *          as an {@code Iterator} object
+     * @exception NullPointerException if {@code names} is {@code null}
+     * @since 3.1
+     */
+    public Iterator<MimeHeader> getMimeHeadersIn(HeaderNameSet names) {
+        return new MimeHeaders.MatchingIterator(Objects.requireNonNull(names), true, getAllMimeHeaders());
+    }
+
+    /**
+     * Retrieves all {@code MimeHeader} objects whose name is not in the
+     * given set. The default implementation filters
+     * {@link #getAllMimeHeaders()}.
+     *
+     * @param names the names of the MIME headers not to be returned
+     * @return  all the MIME headers in this {@code SOAPPart} object
+     *          whose name is not in the given set as an {@code Iterator} object
+     * @exception NullPointerException if {@code names} is {@code null}
+     * @since 3.1
+     */
+    public Iterator<MimeHeader> getMimeHeadersNotIn(HeaderNameSet names) {
+        return new MimeHeaders.MatchingIterator(Objects.requireNonNull(names), false, getAllMimeHeaders());
+    }
+
     /**
      * Sets the content of the {@code SOAPEnvelope} object with the data
      * from the given {@code Source} object. This {@code Source}
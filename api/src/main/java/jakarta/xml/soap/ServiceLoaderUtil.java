@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,6 +10,18 @@
 
 package jakarta.xml.soap;
 
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -22,23 +34,69 @@ import java.util.logging.Logger;
  */
 class ServiceLoaderUtil {
 
-    static <P, T extends Exception> P firstByServiceLoader(Class<P> spiClass,
-                                                           Logger logger,
-                                                           ExceptionHandler<T> handler) throws T {
+    // ranks the provider types found by the service loader, loads their classes but does not instantiate them
+    static <P, T extends Exception> ServiceLoader.Provider<P> bestProvider(Class<P> spiClass,
+                                                                           Logger logger,
+                                                                           ExceptionHandler<T> handler) throws T {
         logger.log(Level.FINE, "Using java.util.ServiceLoader to find {0}", spiClass.getName());
         // service discovery
         try {
             ServiceLoader<P> serviceLoader = ServiceLoader.load(spiClass);
 
-            for (P impl : serviceLoader) {
-                logger.log(Level.FINE, "ServiceProvider loading Facility used; returning object [{0}]", impl.getClass().getName());
+            ServiceLoader.Provider<P> winner = null;
+            int winnerPriority = 0;
+            // first broken entry, reported if no provider can be used
+            ServiceConfigurationError error = null;
+            Iterator<ServiceLoader.Provider<P>> providers = serviceLoader.stream().iterator();
+            while (true) {
+                ServiceLoader.Provider<P> provider;
+                try {
+                    if (!providers.hasNext()) {
+                        break;
+                    }
+                    provider = providers.next();
+                } catch (ServiceConfigurationError e) {
+                    // the loader moves on to the next entry
+                    logger.log(Level.FINE, "Skipping broken service provider", e);
+                    if (error == null) {
+                        error = e;
+                    }
+                    continue;
+                }
+                int priority = priority(provider.type());
+                logger.log(Level.FINE, "ServiceProvider found [{0}] with priority {1}",
+                        new Object[]{provider.type().getName(), priority});
+                if (winner == null || priority > winnerPriority) {
+                    winner = provider;
+                    winnerPriority = priority;
+                }
+            }
 
-                return impl;
+            if (winner == null && error != null) {
+                throw error;
             }
+            return winner;
+        } catch (Throwable t) {
+            throw handler.createException(t, "Error while searching for service [" + spiClass.getName() + "]");
+        }
+    }
+
+    static <P, T extends Exception> P instantiate(ServiceLoader.Provider<P> provider,
+                                                  Class<P> spiClass,
+                                                  Logger logger,
+                                                  ExceptionHandler<T> handler) throws T {
+        try {
+            P impl = provider.get();
+            logger.log(Level.FINE, "ServiceProvider loading Facility used; returning object [{0}]", impl.getClass().getName());
+            return impl;
         } catch (Throwable t) {
             throw handler.createException(t, "Error while searching for service [" + spiClass.getName() + "]");
         }
-        return null;
+    }
+
+    private static int priority(Class<?> type) {
+        ProviderPriority priority = type.getAnnotation(ProviderPriority.class);
+        return priority == null ? 0 : priority.value();
     }
 
     static void checkPackageAccess(String className) {
@@ -96,6 +154,33 @@ class ServiceLoaderUtil {
         return nullSafeLoadClass(className, classLoader);
     }
 
+    // identifies the service configuration files the given loader sees for the service, so that
+    // the outcome of a lookup can be reused while they are unchanged without reading them again
+    static Object configuration(Class<?> spiClass, ClassLoader loader) {
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
+                List<Object> files = new ArrayList<>();
+                ClassLoader cl = loader == null ? ClassLoader.getSystemClassLoader() : loader;
+                Enumeration<URL> urls = cl.getResources("META-INF/services/" + spiClass.getName());
+                while (urls.hasMoreElements()) {
+                    URL url = urls.nextElement();
+                    files.add(url.toString());
+                    if ("file".equals(url.getProtocol())) {
+                        // the files of a jar do not change while it is open, a directory's may
+                        BasicFileAttributes attributes = Files.readAttributes(
+                                Paths.get(url.toURI()), BasicFileAttributes.class);
+                        files.add(attributes.lastModifiedTime());
+                        files.add(attributes.size());
+                    }
+                }
+                return files;
+            });
+        } catch (PrivilegedActionException | RuntimeException e) {
+            // cannot tell, equal to no other configuration
+            return new Object();
+        }
+    }
+
     static <T extends Exception> ClassLoader contextClassLoader(ExceptionHandler<T> exceptionHandler) throws T {
         try {
             return Thread.currentThread().getContextClassLoader();
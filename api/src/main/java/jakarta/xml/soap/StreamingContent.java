@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes the content of the SOAP header or of the SOAP body of a message
+ * created by {@link MessageFactory#createStreamingMessage(StreamingContent, StreamingContent)}.
+ * {@snippet :
+ *  SOAPMessage message = mf.createStreamingMessage(null, writer -> {
+ *      writer.writeStartElement("ex", "export", "urn:example");
+ *      writer.writeNamespace("ex", "urn:example");
+ *      for (Row row : rows) {
+ *          writer.writeStartElement("ex", "row", "urn:example");
+ *          writer.writeCharacters(row.toString());
+ *          writer.writeEndElement();
+ *      }
+ *      writer.writeEndElement();
+ *  });
+ * }
+ *
+ * @see MessageFactory#createStreamingMessage(StreamingContent, StreamingContent)
+ * @since 3.1
+ */
+@FunctionalInterface
+public interface StreamingContent {
+
+    /**
+     * Writes the content. The writer is positioned after the start tag of
+     * the {@code Header} or {@code Body} element; the content must consist
+     * of complete elements, and the writer must be neither closed nor used
+     * to end the enclosing element.
+     *
+     * @param writer the writer to write the content to
+     * @exception XMLStreamException if the content cannot be written
+     */
+    void writeTo(XMLStreamWriter writer) throws XMLStreamException;
+}
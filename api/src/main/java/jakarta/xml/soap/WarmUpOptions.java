@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap;
+
+import java.util.Arrays;
+
+/**
+ * Options of {@link SAAJMetaFactory#warmUp(WarmUpOptions)}.
+ * <p>
+ * By default both SOAP 1.1 and SOAP 1.2 are warmed up, with a single
+ * iteration which includes an attachment.
+ *
+ * @since 3.1
+ */
+public final class WarmUpOptions {
+
+    private String[] protocols = {SOAPConstants.SOAP_1_1_PROTOCOL, SOAPConstants.SOAP_1_2_PROTOCOL};
+    private int iterations = 1;
+    private boolean attachments = true;
+
+    /**
+     * Creates options with default values.
+     */
+    public WarmUpOptions() {
+    }
+
+    /**
+     * Sets the protocols to warm up.
+     *
+     * @param protocols any of {@link SOAPConstants#SOAP_1_1_PROTOCOL} and
+     *                  {@link SOAPConstants#SOAP_1_2_PROTOCOL}
+     * @throws IllegalArgumentException if a protocol is neither SOAP 1.1 nor SOAP 1.2
+     */
+    public void setProtocols(String... protocols) {
+        for (String protocol : protocols) {
+            if (!SOAPConstants.SOAP_1_1_PROTOCOL.equals(protocol)
+                    && !SOAPConstants.SOAP_1_2_PROTOCOL.equals(protocol)) {
+                throw new IllegalArgumentException("Unsupported protocol: " + protocol);
+            }
+        }
+        this.protocols = protocols.clone();
+    }
+
+    /**
+     * Returns the protocols to warm up.
+     *
+     * @return the protocols
+     */
+    public String[] getProtocols() {
+        return protocols.clone();
+    }
+
+    /**
+     * Sets how many times the message cycle is run per protocol.
+     *
+     * @param iterations the number of iterations
+     * @throws IllegalArgumentException if the number of iterations is less than one
+     */
+    public void setIterations(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * Returns how many times the message cycle is run per protocol.
+     *
+     * @return the number of iterations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Sets whether the message cycle includes an attachment.
+     *
+     * @param attachments {@code true} to include an attachment
+     */
+    public void setAttachments(boolean attachments) {
+        this.attachments = attachments;
+    }
+
+    /**
+     * Tells whether the message cycle includes an attachment.
+     *
+     * @return {@code true} if the message cycle includes an attachment
+     */
+    public boolean isAttachments() {
+        return attachments;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpOptions{protocols=" + Arrays.toString(protocols)
+                + ", iterations=" + iterations + ", attachments=" + attachments + "}";
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2005, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2005, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -78,13 +78,35 @@
  *  <li>Checks if a system property with the same name as the factory class is set (e.g.
  *  {@code jakarta.xml.soap.SOAPFactory}). If such property exists then its value is assumed to be the fully qualified
  *  name of the implementation class. This phase of the look up enables per-JVM override of the SAAJ implementation.
+ *  <li>If the discovery indexes {@code META-INF/jakarta.xml.soap/providers.properties}, as generated at build time by
+ *  the {@code jakarta.xml.soap-index-maven-plugin}, visible to the context class loader list the factory class
+ *  name as a key, then its value is assumed to be the fully qualified name of the implementation class.
+ *  A factory the indexes map to different implementation classes is looked up by the next steps.
+ *  If that class cannot be loaded or instantiated, the index is ignored and the lookup goes on with the next step.
  *  <li> Use the service-provider loading facilities, defined by the {@link java.util.ServiceLoader} class,
  *  to attempt to locate and load an implementation of the service using the {@linkplain
- *  java.util.ServiceLoader#load(java.lang.Class) default loading mechanism}.
+ *  java.util.ServiceLoader#load(java.lang.Class) default loading mechanism}. If several implementations are found,
+ *  only the one with the highest {@link jakarta.xml.soap.ProviderPriority} is instantiated. Entries whose
+ *  class cannot be loaded or is not an implementation of the service are skipped; the lookup fails only
+ *  if no entry can be used.
  *  <li> Finally, if all the steps above fail, {@link jakarta.xml.soap.SAAJMetaFactory} instance is used
  *  to locate specific implementation (for {@link jakarta.xml.soap.MessageFactory} and {@link jakarta.xml.soap.SOAPFactory})
  *  or platform default implementation is used ({@link jakarta.xml.soap.SOAPConnectionFactory}).
  *  Whenever {@link jakarta.xml.soap.SAAJMetaFactory} is used, its lookup procedure to get actual instance is performed.
  * </ul>
+ *
+ * Implementations bound with {@link jakarta.xml.soap.SAAJMetaFactory#setProvider(java.lang.Class, java.util.function.Supplier)}
+ * take precedence over the lookup procedure, which is not performed at all for such factories.
+ * The outcome of the lookup procedure is cached per factory, context class loader and value of the
+ * system property named after the factory; it is also discarded when the service configuration files
+ * it depends on change, see {@link jakarta.xml.soap.SAAJMetaFactory#invalidateProviderCache(java.lang.ClassLoader)}.
+ *
+ * <p>
+ * When the system property {@code jakarta.xml.soap.reflectionFree} is set to {@code true}, the lookup procedure
+ * does not use reflection: the system properties naming implementation classes, the discovery index, the OSGi
+ * service loader and the platform default implementation are skipped, so that only bound implementations and
+ * the {@link java.util.ServiceLoader} facility are used. This mode is never enabled implicitly, also not in
+ * a native image, where the reachability metadata shipped with this API keeps the platform default
+ * implementation available.
  */
 package jakarta.xml.soap;
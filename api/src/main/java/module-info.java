@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -18,6 +18,7 @@ module jakarta.xml.soap {
     requires transitive java.xml;
     requires transitive jakarta.activation;
     requires java.logging;
+    requires static jdk.jfr;
 
     exports jakarta.xml.soap;
 
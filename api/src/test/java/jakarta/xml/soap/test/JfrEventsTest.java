@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SAAJMetaFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import saaj.factory.Valid2;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+/*
+ * JDK Flight Recorder events emitted by the API
+ */
+public class JfrEventsTest {
+
+    private static final String FACTORY_LOOKUP = "jakarta.xml.soap.FactoryLookup";
+
+    @After
+    public void tearDown() {
+        SAAJMetaFactory.setProvider(MessageFactory.class, null);
+    }
+
+    @Test
+    public void testFactoryLookup() throws Exception {
+        SAAJMetaFactory.setProvider(MessageFactory.class, Valid2::new);
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(FACTORY_LOOKUP).withoutThreshold();
+            recording.start();
+            MessageFactory.newInstance();
+            recording.stop();
+            events = lookups(recording);
+        }
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(MessageFactory.class.getName(), event.getString("factoryClass"));
+        assertEquals(Valid2.class.getName(), event.getString("providerClass"));
+        assertFalse(event.getBoolean("fromCache"));
+    }
+
+    @Test
+    public void testFactoryLookupDisabled() throws Exception {
+        SAAJMetaFactory.setProvider(MessageFactory.class, Valid2::new);
+        try (Recording recording = new Recording()) {
+            recording.disable(FACTORY_LOOKUP);
+            recording.start();
+            MessageFactory.newInstance();
+            recording.stop();
+            assertTrue(lookups(recording).isEmpty());
+        }
+    }
+
+    @Test
+    public void testNotRecording() throws Exception {
+        SAAJMetaFactory.setProvider(MessageFactory.class, Valid2::new);
+        MessageFactory.newInstance();
+        try (Recording recording = new Recording()) {
+            recording.enable(FACTORY_LOOKUP).withoutThreshold();
+            recording.start();
+            recording.stop();
+            assertTrue(lookups(recording).isEmpty());
+        }
+    }
+
+    private static List<RecordedEvent> lookups(Recording recording) throws Exception {
+        Path file = Files.createTempFile("saaj", ".jfr");
+        try {
+            recording.dump(file);
+            List<RecordedEvent> lookups = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (FACTORY_LOOKUP.equals(event.getEventType().getName())) {
+                    lookups.add(event);
+                }
+            }
+            return lookups;
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
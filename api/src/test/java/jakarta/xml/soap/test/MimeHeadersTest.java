@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Vector;
+import jakarta.xml.soap.ContentType;
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+/*
+ * MimeHeaders behaves as the original implementation backed by a Vector
+ */
+public class MimeHeadersTest {
+
+    @Test
+    public void testGrouping() {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("A", "1");
+        headers.addHeader("B", "1");
+        headers.addHeader("a", "2");
+        headers.addHeader("C", "1");
+        headers.addHeader("b", "2");
+        // same-name headers follow the last one with that name
+        assertEquals("A=1;a=2;B=1;b=2;C=1;", dump(headers.getAllHeaders()));
+        assertEquals(5, headers.size());
+        assertEquals(Arrays.asList("1", "2"), Arrays.asList(headers.getHeader("A")));
+    }
+
+    @Test
+    public void testSetHeader() {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("A", "1");
+        headers.addHeader("B", "1");
+        headers.addHeader("a", "2");
+        // replaces the first value, keeps its name and position, drops the others
+        headers.setHeader("a", "x");
+        assertEquals("A=x;B=1;", dump(headers.getAllHeaders()));
+        headers.setHeader("D", "1");
+        assertEquals("A=x;B=1;D=1;", dump(headers.getAllHeaders()));
+    }
+
+    @Test
+    public void testRemoveHeader() {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("A", "1");
+        headers.addHeader("B", "1");
+        headers.addHeader("a", "2");
+        headers.removeHeader("a");
+        assertEquals("B=1;", dump(headers.getAllHeaders()));
+        assertNull(headers.getHeader("A"));
+        // a name added again goes to the end
+        headers.addHeader("A", "3");
+        assertEquals("B=1;A=3;", dump(headers.getAllHeaders()));
+    }
+
+    @Test
+    public void testMatchingHeaders() {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("A", "1");
+        headers.addHeader("B", "1");
+        headers.addHeader("a", "2");
+        assertEquals("A=1;a=2;", dump(headers.getMatchingHeaders(new String[]{"a"})));
+        assertEquals("B=1;", dump(headers.getNonMatchingHeaders(new String[]{"a"})));
+        assertEquals("", dump(headers.getMatchingHeaders(null)));
+        assertEquals("A=1;a=2;B=1;", dump(headers.getNonMatchingHeaders(null)));
+    }
+
+    @Test
+    public void testAgainstVector() {
+        String[] names = {"Content-Type", "content-type", "CONTENT-ID", MimeHeaders.CONTENT_ID,
+                MimeHeaders.SOAP_ACTION, "soapaction", "X-Custom", "A", null, ""};
+        Random random = new Random(1);
+        for (int round = 0; round < 500; round++) {
+            MimeHeaders headers = new MimeHeaders();
+            VectorHeaders expected = new VectorHeaders();
+            for (int op = 0; op < 30; op++) {
+                String name = names[random.nextInt(names.length)];
+                String value = random.nextInt(5) == 0 ? null : "v" + op;
+                int kind = random.nextInt(4);
+                boolean failed = false;
+                boolean expectedFailed = false;
+                try {
+                    apply(headers, kind, name, value, op);
+                } catch (IllegalArgumentException e) {
+                    failed = true;
+                }
+                try {
+                    expected.apply(kind, name, value, op);
+                } catch (IllegalArgumentException e) {
+                    expectedFailed = true;
+                }
+                String step = "round " + round + " op " + op;
+                assertEquals(step, expectedFailed, failed);
+                assertEquals(step, expected.dump(), dump(headers.getAllHeaders()));
+                for (String n : names) {
+                    assertTrue(step + " " + n, Arrays.equals(expected.getHeader(n), headers.getHeader(n)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveThroughIteratorOfCopy() {
+        MimeHeaders original = new MimeHeaders();
+        original.addHeader("A", "1");
+        original.addHeader("B", "1");
+        original.addHeader("a", "2");
+        MimeHeaders copy = MimeHeaders.copyOf(original);
+        for (Iterator<MimeHeader> it = copy.getAllHeaders(); it.hasNext(); ) {
+            if (it.next().getValue().equals("1")) {
+                it.remove();
+            }
+        }
+        assertEquals("a=2;", dump(copy.getAllHeaders()));
+        assertEquals("A=1;a=2;B=1;", dump(original.getAllHeaders()));
+
+        // and the other way round
+        copy = MimeHeaders.copyOf(original);
+        Iterator<MimeHeader> it = original.getAllHeaders();
+        it.next();
+        it.remove();
+        assertEquals("a=2;B=1;", dump(original.getAllHeaders()));
+        assertEquals("A=1;a=2;B=1;", dump(copy.getAllHeaders()));
+    }
+
+    @Test
+    public void testRemoveThroughIteratorOfFrozen() {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("A", "1");
+        headers.addHeader("B", "1");
+        headers.freeze();
+        Iterator<MimeHeader> all = headers.getAllHeaders();
+        all.next();
+        try {
+            all.remove();
+            fail("UnsupportedOperationException expected");
+        } catch (UnsupportedOperationException expected) {
+        }
+        Iterator<MimeHeader> matching = headers.getMatchingHeaders(new String[]{"B"});
+        matching.next();
+        try {
+            matching.remove();
+            fail("UnsupportedOperationException expected");
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals("A=1;B=1;", dump(headers.getAllHeaders()));
+
+        // a copy of a frozen object can be modified
+        MimeHeaders copy = MimeHeaders.copyOf(headers);
+        Iterator<MimeHeader> it = copy.getAllHeaders();
+        it.next();
+        it.remove();
+        assertEquals("B=1;", dump(copy.getAllHeaders()));
+        assertEquals("A=1;B=1;", dump(headers.getAllHeaders()));
+    }
+
+    @Test
+    public void testParsedContentType() {
+        MimeHeaders headers = new MimeHeaders();
+        assertNull(headers.getParsedContentType());
+
+        headers.addHeader("content-type", "text/xml; charset=utf-8");
+        ContentType ct = headers.getParsedContentType();
+        assertEquals("text/xml", ct.getBaseType());
+        assertEquals("utf-8", ct.getCharset());
+        assertSame("Parsed value must be cached", ct, headers.getParsedContentType());
+
+        // a second value does not change the first one
+        headers.addHeader(MimeHeaders.CONTENT_TYPE, "text/plain");
+        assertSame(ct, headers.getParsedContentType());
+
+        headers.setHeader(MimeHeaders.CONTENT_TYPE, "application/soap+xml; action=\"urn:a\"");
+        ct = headers.getParsedContentType();
+        assertEquals("application/soap+xml", ct.getBaseType());
+        assertEquals("urn:a", ct.getAction());
+
+        headers.removeHeader("CONTENT-TYPE");
+        assertNull(headers.getParsedContentType());
+
+        headers.addHeader(MimeHeaders.CONTENT_TYPE, "multipart/related; boundary=uuid:0ca0e16e");
+        assertEquals("uuid:0ca0e16e", headers.getParsedContentType().getBoundary());
+
+        Iterator<MimeHeader> it = headers.getAllHeaders();
+        it.next();
+        it.remove();
+        assertNull(headers.getParsedContentType());
+    }
+
+    @Test
+    public void testParsedContentTypeOfCopy() {
+        MimeHeaders original = new MimeHeaders();
+        original.addHeader(MimeHeaders.CONTENT_TYPE, "text/xml");
+        assertEquals("text/xml", original.getParsedContentType().getBaseType());
+        MimeHeaders copy = MimeHeaders.copyOf(original);
+        copy.setHeader(MimeHeaders.CONTENT_TYPE, "application/soap+xml");
+        assertEquals("application/soap+xml", copy.getParsedContentType().getBaseType());
+        assertEquals("text/xml", original.getParsedContentType().getBaseType());
+    }
+
+    @Test
+    public void testParseCRLF() {
+        ByteBuffer buffer = ascii("Content-Type: text/xml\r\nContent-ID: <root>\r\n\r\n<env/>");
+        MimeHeaders headers = MimeHeaders.parse(buffer);
+        assertEquals("Content-Type=text/xml;Content-ID=<root>;", dump(headers.getAllHeaders()));
+        assertEquals("<env/>", rest(buffer));
+        assertFalse(headers.isModified());
+    }
+
+    @Test
+    public void testParseLF() {
+        ByteBuffer buffer = ascii("Content-Type: text/xml\nContent-ID: <root>\n\n<env/>");
+        MimeHeaders headers = MimeHeaders.parse(buffer);
+        assertEquals("Content-Type=text/xml;Content-ID=<root>;", dump(headers.getAllHeaders()));
+        assertEquals("<env/>", rest(buffer));
+    }
+
+    @Test
+    public void testParseFolded() {
+        ByteBuffer buffer = ascii("Content-Type: multipart/related;\r\n type=\"text/xml\";\r\n\tboundary=b\r\nA: 1\r\n\r\n");
+        MimeHeaders headers = MimeHeaders.parse(buffer);
+        assertEquals("multipart/related; type=\"text/xml\";\tboundary=b", headers.getFirstHeader(MimeHeaders.CONTENT_TYPE));
+        assertEquals("b", headers.getParsedContentType().getBoundary());
+        assertEquals("1", headers.getFirstHeader("a"));
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void testParseWithoutEmptyLine() {
+        ByteBuffer buffer = ascii("A: 1\r\nB: 2");
+        assertEquals("A=1;B=2;", dump(MimeHeaders.parse(buffer).getAllHeaders()));
+        assertEquals(0, buffer.remaining());
+
+        buffer = ascii("A: 1\r\nB: 2\r\n");
+        assertEquals("A=1;B=2;", dump(MimeHeaders.parse(buffer).getAllHeaders()));
+        assertEquals(0, buffer.remaining());
+
+        buffer = ascii("\r\n<env/>");
+        assertEquals(0, MimeHeaders.parse(buffer).size());
+        assertEquals("<env/>", rest(buffer));
+    }
+
+    @Test
+    public void testParseInvalid() {
+        ByteBuffer buffer = ascii("A: 1\r\nno colon\r\n\r\n");
+        try {
+            MimeHeaders.parse(buffer);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testWriteUnread() {
+        // folded line, odd spacing and a byte outside of US-ASCII are kept as they are
+        byte[] block = ("Content-Type:text/xml;\r\n\tcharset=utf-8\r\n"
+                + "X-Name:   caf\u00e9  \r\n"
+                + "SOAPAction: \"urn:a\"\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        MimeHeaders headers = MimeHeaders.parse(ByteBuffer.wrap(block));
+        ByteBuffer out = ByteBuffer.allocate(block.length);
+        headers.writeTo(out);
+        assertEquals(0, out.remaining());
+        assertTrue(Arrays.equals(block, out.array()));
+
+        // a changed header is encoded again, the others are still copied
+        headers.setHeader("X-Name", "tea");
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        try {
+            headers.writeTo(written);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        assertEquals("Content-Type:text/xml;\r\n\tcharset=utf-8\r\n"
+                + "X-Name: tea\r\n"
+                + "SOAPAction: \"urn:a\"\r\n\r\n", new String(written.toByteArray(), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testParseBareCR() {
+        assertInvalid("A: 1\rX\r\n\r\n");
+        assertInvalid("A: 1\r\n\rX");
+        assertInvalid("\rX");
+    }
+
+    @Test
+    public void testParseLeadingWhitespace() {
+        assertInvalid(" X: y\r\n\r\n");
+        assertInvalid("\tX: y\n\n");
+        // a continuation line is not a new header
+        assertEquals("A=1 X: y;", dump(MimeHeaders.parse(ascii("A: 1\r\n X: y\r\n\r\n")).getAllHeaders()));
+    }
+
+    @Test
+    public void testWriteLineEndInValue() {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("A", "v\r\nInjected: 1");
+        assertNotWritten(headers);
+
+        headers = new MimeHeaders();
+        headers.addHeader("A", "v\nInjected: 1");
+        assertNotWritten(headers);
+
+        headers = new MimeHeaders();
+        headers.addHeader("A", "v\rInjected: 1");
+        assertNotWritten(headers);
+
+        headers = new MimeHeaders();
+        headers.addHeader("A", "v\u0000");
+        assertNotWritten(headers);
+
+        headers = new MimeHeaders();
+        headers.addHeader("A: 1\r\nB", "v");
+        assertNotWritten(headers);
+
+        headers = new MimeHeaders();
+        headers.addHeader(" A", "v");
+        assertNotWritten(headers);
+    }
+
+    @Test
+    public void testWriteFolded() {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addHeader("A", "1;\r\n\tb=2;\n c=3");
+        assertEquals("A: 1;\r\n\tb=2;\r\n c=3\r\n\r\n", write(headers));
+    }
+
+    @Test
+    public void testWriteUnreadBareLF() {
+        MimeHeaders headers = MimeHeaders.parse(ascii("A: 1;\n b=2\nB: 2\n\n"));
+        assertEquals("A: 1;\r\n b=2\r\nB: 2\r\n\r\n", write(headers));
+    }
+
+    private static void assertInvalid(String block) {
+        ByteBuffer buffer = ascii(block);
+        try {
+            MimeHeaders.parse(buffer);
+            fail("IllegalArgumentException expected for " + block);
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(0, buffer.position());
+    }
+
+    private static void assertNotWritten(MimeHeaders headers) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        try {
+            headers.writeTo(buffer);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(0, buffer.position());
+    }
+
+    private static String write(MimeHeaders headers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            headers.writeTo(out);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static ByteBuffer ascii(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String rest(ByteBuffer buffer) {
+        byte[] rest = new byte[buffer.remaining()];
+        buffer.get(rest);
+        return new String(rest, StandardCharsets.US_ASCII);
+    }
+
+    private static void apply(MimeHeaders headers, int kind, String name, String value, int op) {
+        switch (kind) {
+            case 0:
+                headers.addHeader(name, value);
+                break;
+            case 1:
+                headers.setHeader(name, value);
+                break;
+            case 2:
+                headers.removeHeader(name);
+                break;
+            default:
+                int i = 0;
+                for (Iterator<MimeHeader> it = headers.getAllHeaders(); it.hasNext(); i++) {
+                    it.next();
+                    if ((i + op) % 3 == 0) {
+                        it.remove();
+                    }
+                }
+        }
+    }
+
+    static String dump(Iterator<MimeHeader> it) {
+        StringBuilder sb = new StringBuilder();
+        while (it.hasNext()) {
+            MimeHeader hdr = it.next();
+            sb.append(hdr.getName()).append('=').append(hdr.getValue()).append(';');
+        }
+        return sb.toString();
+    }
+
+    // the original implementation
+    private static final class VectorHeaders {
+
+        private final Vector<MimeHeader> headers = new Vector<>();
+
+        void apply(int kind, String name, String value, int op) {
+            switch (kind) {
+                case 0:
+                    checkName(name);
+                    for (int i = headers.size() - 1; i >= 0; i--) {
+                        if (headers.elementAt(i).getName().equalsIgnoreCase(name)) {
+                            headers.insertElementAt(new MimeHeader(name, value), i + 1);
+                            return;
+                        }
+                    }
+                    headers.addElement(new MimeHeader(name, value));
+                    break;
+                case 1:
+                    checkName(name);
+                    boolean found = false;
+                    for (int i = 0; i < headers.size(); i++) {
+                        MimeHeader hdr = headers.elementAt(i);
+                        if (hdr.getName().equalsIgnoreCase(name)) {
+                            if (!found) {
+                                headers.setElementAt(new MimeHeader(hdr.getName(), value), i);
+                                found = true;
+                            } else {
+                                headers.removeElementAt(i--);
+                            }
+                        }
+                    }
+                    if (!found) {
+                        apply(0, name, value, op);
+                    }
+                    break;
+                case 2:
+                    for (int i = 0; i < headers.size(); i++) {
+                        if (headers.elementAt(i).getName().equalsIgnoreCase(name)) {
+                            headers.removeElementAt(i--);
+                        }
+                    }
+                    break;
+                default:
+                    int i = 0;
+                    for (Iterator<MimeHeader> it = headers.iterator(); it.hasNext(); i++) {
+                        it.next();
+                        if ((i + op) % 3 == 0) {
+                            it.remove();
+                        }
+                    }
+            }
+        }
+
+        String[] getHeader(String name) {
+            Vector<String> values = new Vector<>();
+            for (MimeHeader hdr : headers) {
+                if (hdr.getName().equalsIgnoreCase(name) && hdr.getValue() != null) {
+                    values.addElement(hdr.getValue());
+                }
+            }
+            return values.isEmpty() ? null : values.toArray(new String[0]);
+        }
+
+        String dump() {
+            return MimeHeadersTest.dump(headers.iterator());
+        }
+
+        private static void checkName(String name) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Illegal MimeHeader name");
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import jakarta.xml.soap.DiscoveryReport;
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SAAJMetaFactory;
+import jakarta.xml.soap.SOAPConstants;
+import jakarta.xml.soap.SOAPException;
+import saaj.factory.DomMessageFactory;
+import saaj.factory.DomMetaFactory;
+import saaj.factory.Valid2;
+import saaj.factory.Valid3;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
+
+/*
+ * providers bound by the application take precedence over the lookup procedure
+ */
+public class ProviderBindingTest {
+
+    static final String classesDir = ProviderBindingTest.class.getProtectionDomain().getCodeSource().getLocation().getFile();
+
+    static {
+        System.setProperty("classesDir", classesDir);
+    }
+
+    static Path providersDir = Paths.get(classesDir, "META-INF", "services");
+    static Path providersFile = providersDir.resolve("jakarta.xml.soap.MessageFactory");
+
+    @Before
+    public void setUp() throws IOException {
+        System.clearProperty("jakarta.xml.soap.MessageFactory");
+        SAAJMetaFactory.invalidateProviderCache();
+        Files.createDirectories(providersDir);
+        Files.write(providersFile, "saaj.factory.Valid".getBytes());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        System.setSecurityManager(null);
+        SAAJMetaFactory.setProvider(MessageFactory.class, null);
+        SAAJMetaFactory.setDefault(null);
+        Files.deleteIfExists(providersFile);
+        SAAJMetaFactory.invalidateProviderCache();
+    }
+
+    @Test
+    public void testBinding() throws Exception {
+        DiscoveryReport report = SAAJMetaFactory.getDiscoveryReport(MessageFactory.class);
+        SAAJMetaFactory.setProvider(MessageFactory.class, Valid2::new);
+        assertEquals("saaj.factory.Valid2", MessageFactory.newInstance().getClass().getName());
+        assertSame("Bound provider must not run the lookup procedure",
+                report, SAAJMetaFactory.getDiscoveryReport(MessageFactory.class));
+    }
+
+    @Test
+    public void testRebinding() throws Exception {
+        SAAJMetaFactory.setProvider(MessageFactory.class, Valid2::new);
+        SAAJMetaFactory.setProvider(MessageFactory.class, Valid3::new);
+        assertEquals("saaj.factory.Valid3", MessageFactory.newInstance().getClass().getName());
+
+        SAAJMetaFactory.setProvider(MessageFactory.class, null);
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+    }
+
+    @Test
+    public void testBindingKeepsCache() throws Exception {
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+        DiscoveryReport report = SAAJMetaFactory.getDiscoveryReport(MessageFactory.class);
+
+        SAAJMetaFactory.setProvider(MessageFactory.class, Valid2::new);
+        assertEquals("saaj.factory.Valid2", MessageFactory.newInstance().getClass().getName());
+
+        // the outcome of the lookup made before binding is still cached
+        SAAJMetaFactory.setProvider(MessageFactory.class, null);
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+        assertSame(report, SAAJMetaFactory.getDiscoveryReport(MessageFactory.class));
+    }
+
+    @Test
+    public void testSetDefault() throws Exception {
+        SAAJMetaFactory.setDefault(new DomMetaFactory());
+        assertEquals(DomMessageFactory.class,
+                MessageFactory.newInstance(SOAPConstants.SOAP_1_1_PROTOCOL).getClass());
+
+        SAAJMetaFactory.setDefault(null);
+        try {
+            MessageFactory.newInstance(SOAPConstants.SOAP_1_1_PROTOCOL);
+            fail("No meta factory is available without binding one");
+        } catch (SOAPException expected) {
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAFactory() {
+        SAAJMetaFactory.setProvider(Object.class, Object::new);
+    }
+
+    @Test
+    public void testSecurityManager() throws Exception {
+        System.setProperty("java.security.policy", classesDir + "jakarta/xml/soap/test.policy");
+        System.setSecurityManager(new SecurityManager());
+        try {
+            SAAJMetaFactory.setProvider(MessageFactory.class, Valid2::new);
+            fail("Binding requires RuntimePermission(\"setFactory\")");
+        } catch (SecurityException expected) {
+        }
+        try {
+            SAAJMetaFactory.setDefault(new DomMetaFactory());
+            fail("Binding requires RuntimePermission(\"setFactory\")");
+        } catch (SecurityException expected) {
+        }
+        System.setSecurityManager(null);
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+    }
+}
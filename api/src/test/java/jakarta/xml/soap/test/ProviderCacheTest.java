@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import jakarta.xml.soap.DiscoveryReport;
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SAAJMetaFactory;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+
+/*
+ * the outcome of the lookup procedure is cached until invalidated or its inputs change
+ */
+public class ProviderCacheTest {
+
+    static final String classesDir = ProviderCacheTest.class.getProtectionDomain().getCodeSource().getLocation().getFile();
+
+    static Path providersDir = Paths.get(classesDir, "META-INF", "services");
+    static Path providersFile = providersDir.resolve("jakarta.xml.soap.MessageFactory");
+
+    @Before
+    public void setUp() throws IOException {
+        System.clearProperty("jakarta.xml.soap.MessageFactory");
+        SAAJMetaFactory.invalidateProviderCache();
+        writeProviders("saaj.factory.Valid");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(providersFile);
+        SAAJMetaFactory.invalidateProviderCache();
+    }
+
+    @Test
+    public void testCachedLookup() throws Exception {
+        MessageFactory first = MessageFactory.newInstance();
+        assertEquals("saaj.factory.Valid", first.getClass().getName());
+        DiscoveryReport report = SAAJMetaFactory.getDiscoveryReport(MessageFactory.class);
+        assertNotNull(report);
+
+        MessageFactory second = MessageFactory.newInstance();
+        assertEquals("saaj.factory.Valid", second.getClass().getName());
+        assertNotSame("Cached lookup must create a new instance", first, second);
+        assertSame("Cached lookup must not run the lookup procedure",
+                report, SAAJMetaFactory.getDiscoveryReport(MessageFactory.class));
+
+        // a provider with a higher priority is seen as soon as the configuration changes
+        writeProviders("saaj.factory.Valid\nsaaj.factory.Valid3");
+        MessageFactory third = MessageFactory.newInstance();
+        assertEquals("saaj.factory.Valid3", third.getClass().getName());
+        assertNotSame(report, SAAJMetaFactory.getDiscoveryReport(MessageFactory.class));
+    }
+
+    @Test
+    public void testSystemPropertyChange() throws Exception {
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+
+        System.setProperty("jakarta.xml.soap.MessageFactory", "saaj.factory.Valid2");
+        assertEquals("saaj.factory.Valid2", MessageFactory.newInstance().getClass().getName());
+
+        System.clearProperty("jakarta.xml.soap.MessageFactory");
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+    }
+
+    @Test
+    public void testInvalidateLoader() throws Exception {
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+
+        writeProviders("saaj.factory.Valid3");
+        SAAJMetaFactory.invalidateProviderCache(Thread.currentThread().getContextClassLoader());
+        assertEquals("saaj.factory.Valid3", MessageFactory.newInstance().getClass().getName());
+    }
+
+    private static void writeProviders(String value) throws IOException {
+        Files.createDirectories(providersDir);
+        Files.write(providersFile, value.getBytes());
+    }
+}
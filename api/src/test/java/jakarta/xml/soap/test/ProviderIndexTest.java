@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import jakarta.xml.soap.DiscoveryReport;
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SAAJMetaFactory;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+/*
+ * lookup through the discovery index generated at build time
+ */
+public class ProviderIndexTest {
+
+    static final String classesDir = ProviderIndexTest.class.getProtectionDomain().getCodeSource().getLocation().getFile();
+
+    static Path providersDir = Paths.get(classesDir, "META-INF", "services");
+    static Path providersFile = providersDir.resolve("jakarta.xml.soap.MessageFactory");
+
+    static Path indexDir = Paths.get(classesDir, "META-INF", "jakarta.xml.soap");
+    static Path indexFile = indexDir.resolve("providers.properties");
+
+    static final String INDEX = "META-INF/jakarta.xml.soap/providers.properties";
+
+    @Before
+    public void setUp() throws IOException {
+        System.clearProperty("jakarta.xml.soap.MessageFactory");
+        SAAJMetaFactory.invalidateProviderCache();
+        Files.createDirectories(providersDir);
+        Files.write(providersFile, "saaj.factory.Valid".getBytes());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(providersFile);
+        Files.deleteIfExists(indexFile);
+        SAAJMetaFactory.invalidateProviderCache();
+    }
+
+    @Test
+    public void testIndexed() throws Exception {
+        writeIndex("saaj.factory.Valid3");
+        assertEquals("saaj.factory.Valid3", MessageFactory.newInstance().getClass().getName());
+        assertEquals(DiscoveryReport.Source.INDEX,
+                SAAJMetaFactory.getDiscoveryReport(MessageFactory.class).getChosenStep().getSource());
+    }
+
+    @Test
+    public void testStaleIndex() throws Exception {
+        writeIndex("gone.Impl");
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+
+        DiscoveryReport report = SAAJMetaFactory.getDiscoveryReport(MessageFactory.class);
+        assertEquals(DiscoveryReport.Source.SERVICE_LOADER, report.getChosenStep().getSource());
+        boolean indexFailed = false;
+        for (DiscoveryReport.Step step : report.getSteps()) {
+            indexFailed |= step.getSource() == DiscoveryReport.Source.INDEX && step.isFailed();
+        }
+        assertTrue("Stale index entry must be reported", indexFailed);
+    }
+
+    @Test
+    public void testInvalidateLoader() throws Exception {
+        writeIndex("saaj.factory.Valid3");
+        assertEquals("saaj.factory.Valid3", MessageFactory.newInstance().getClass().getName());
+
+        // the index is read again once the loader is invalidated
+        writeIndex("saaj.factory.Valid2");
+        SAAJMetaFactory.invalidateProviderCache(Thread.currentThread().getContextClassLoader());
+        assertEquals("saaj.factory.Valid2", MessageFactory.newInstance().getClass().getName());
+    }
+
+    @Test
+    public void testMergedIndexes() throws Exception {
+        writeIndex("saaj.factory.Valid3");
+        assertEquals("saaj.factory.Valid3", withLibraryIndex("saaj.factory.Valid3").getClass().getName());
+        assertEquals(DiscoveryReport.Source.INDEX,
+                SAAJMetaFactory.getDiscoveryReport(MessageFactory.class).getChosenStep().getSource());
+    }
+
+    @Test
+    public void testConflictingIndexes() throws Exception {
+        // neither index is trusted, whatever their order
+        writeIndex("saaj.factory.Valid3");
+        assertEquals("saaj.factory.Valid", withLibraryIndex("saaj.factory.Valid2").getClass().getName());
+        assertEquals(DiscoveryReport.Source.SERVICE_LOADER,
+                SAAJMetaFactory.getDiscoveryReport(MessageFactory.class).getChosenStep().getSource());
+    }
+
+    // looks the factory up with a context class loader which sees another index besides the one of classesDir
+    private static MessageFactory withLibraryIndex(String provider) throws Exception {
+        Path library = Files.createTempDirectory("library");
+        writeIndex(library.resolve("META-INF").resolve("jakarta.xml.soap"), provider);
+        Thread thread = Thread.currentThread();
+        ClassLoader tccl = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{library.toUri().toURL()}, tccl)) {
+            thread.setContextClassLoader(loader);
+            return MessageFactory.newInstance();
+        } finally {
+            thread.setContextClassLoader(tccl);
+            Files.delete(library.resolve(INDEX));
+            Files.delete(library.resolve("META-INF").resolve("jakarta.xml.soap"));
+            Files.delete(library.resolve("META-INF"));
+            Files.delete(library);
+        }
+    }
+
+    private static void writeIndex(String provider) throws IOException {
+        writeIndex(indexDir, provider);
+    }
+
+    private static void writeIndex(Path dir, String provider) throws IOException {
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("providers.properties"),
+                ("jakarta.xml.soap.MessageFactory=" + provider + "\n").getBytes());
+    }
+}
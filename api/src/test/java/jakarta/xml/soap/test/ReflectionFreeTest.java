@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import jakarta.xml.soap.DiscoveryReport;
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SAAJMetaFactory;
+import jakarta.xml.soap.SOAPException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+/*
+ * lookup with and without the reflection-free mode
+ */
+public class ReflectionFreeTest {
+
+    static final String classesDir = ReflectionFreeTest.class.getProtectionDomain().getCodeSource().getLocation().getFile();
+
+    static Path providersDir = Paths.get(classesDir, "META-INF", "services");
+    static Path providersFile = providersDir.resolve("jakarta.xml.soap.MessageFactory");
+
+    @Before
+    public void setUp() {
+        SAAJMetaFactory.invalidateProviderCache();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        System.clearProperty("jakarta.xml.soap.reflectionFree");
+        System.clearProperty("org.graalvm.nativeimage.imagecode");
+        System.clearProperty("jakarta.xml.soap.MessageFactory");
+        Files.deleteIfExists(providersFile);
+        SAAJMetaFactory.invalidateProviderCache();
+    }
+
+    @Test
+    public void testSystemPropertyByDefault() throws Exception {
+        System.setProperty("jakarta.xml.soap.MessageFactory", "saaj.factory.Valid");
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+    }
+
+    @Test
+    public void testNativeImageKeepsLookup() throws Exception {
+        // running in a native image does not switch to the reflection-free mode
+        System.setProperty("org.graalvm.nativeimage.imagecode", "runtime");
+        System.setProperty("jakarta.xml.soap.MessageFactory", "saaj.factory.Valid");
+        assertEquals("saaj.factory.Valid", MessageFactory.newInstance().getClass().getName());
+        assertEquals(DiscoveryReport.Source.SYSTEM_PROPERTY,
+                SAAJMetaFactory.getDiscoveryReport(MessageFactory.class).getChosenStep().getSource());
+    }
+
+    @Test
+    public void testReflectionFree() throws Exception {
+        System.setProperty("jakarta.xml.soap.reflectionFree", "true");
+        System.setProperty("jakarta.xml.soap.MessageFactory", "saaj.factory.Valid");
+        writeProviders("saaj.factory.Valid2");
+        assertEquals("saaj.factory.Valid2", MessageFactory.newInstance().getClass().getName());
+        for (DiscoveryReport.Step step : SAAJMetaFactory.getDiscoveryReport(MessageFactory.class).getSteps()) {
+            assertTrue("Step must not run: " + step.getSource(), step.getSource() == DiscoveryReport.Source.SERVICE_LOADER);
+        }
+    }
+
+    @Test
+    public void testReflectionFreeWithoutDefault() throws Exception {
+        System.setProperty("jakarta.xml.soap.reflectionFree", "true");
+        try {
+            MessageFactory.newInstance();
+            fail("SOAPException expected, the default implementation is not tried");
+        } catch (SOAPException expected) {
+        }
+    }
+
+    private static void writeProviders(String value) throws IOException {
+        Files.createDirectories(providersDir);
+        Files.write(providersFile, value.getBytes());
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2024 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -75,6 +75,10 @@ public class SAAJFactoryTest {
                 {null, null, jakarta.xml.soap.SOAPException.class, "scenario11", "saaj.factory.Invalid"},
                 {null, "com.sun.xml.internal.messaging.saaj.soap.ver1_1.SOAPMessageFactory1_1Impl", jakarta.xml.soap.SOAPException.class, "scenario12", null},
                 {null, "saaj.factory.Valid", null, "scenario15", "saaj.factory.Valid"},
+                {null, "saaj.factory.Valid3", null, "scenario16", "saaj.factory.Valid\nsaaj.factory.Valid3"},
+                {null, "saaj.factory.Valid", null, "scenario17", "saaj.factory.Valid\nsaaj.factory.Valid2"},
+                {null, "saaj.factory.Valid", null, "scenario18", "saaj.factory.Valid\nsaaj.factory.Invalid"},
+                {null, "saaj.factory.Valid", null, "scenario19", "saaj.factory.Invalid\nsaaj.factory.Valid"},
         });
     }
 
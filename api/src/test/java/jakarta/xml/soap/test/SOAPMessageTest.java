@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.xml.namespace.QName;
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SAAJMetaFactory;
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPConstants;
+import jakarta.xml.soap.SOAPEnvelope;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPHeader;
+import jakarta.xml.soap.SOAPMessage;
+import saaj.factory.DomMetaFactory;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.fail;
+
+/*
+ * default implementations of the SOAPMessage methods
+ */
+public class SOAPMessageTest {
+
+    private static final String WSSE = "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd";
+    private static final String WSU = "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd";
+
+    private MessageFactory factory;
+
+    @Before
+    public void setUp() throws SOAPException {
+        SAAJMetaFactory.setDefault(new DomMetaFactory());
+        factory = MessageFactory.newInstance(SOAPConstants.SOAP_1_1_PROTOCOL);
+    }
+
+    @After
+    public void tearDown() {
+        SAAJMetaFactory.setDefault(null);
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        SOAPMessage message = factory.createMessage();
+        SOAPEnvelope envelope = message.getSOAPPart().getEnvelope();
+        envelope.addNamespaceDeclaration("wsse", WSSE);
+        envelope.addNamespaceDeclaration("wsu", WSU);
+        envelope.addAttribute(new QName(WSU, "Id", "wsu"), "e1");
+        SOAPHeader header = envelope.getHeader();
+        header.addAttribute(new QName(WSU, "Id", "wsu"), "h1");
+        header.addChildElement("Security", "wsse", WSSE);
+        SOAPBody body = envelope.getBody();
+        body.addNamespaceDeclaration("m", "urn:m");
+        body.addAttribute(new QName(WSU, "Id", "wsu"), "b1");
+        body.addChildElement("op", "m", "urn:m").addTextNode("x");
+        message.addAttachmentPart(message.createAttachmentPart("attached", "text/plain"));
+        message.getMimeHeaders().addHeader(MimeHeaders.SOAP_ACTION, "urn:a");
+
+        message.reset();
+        assertEquals(0, message.countAttachments());
+        assertEquals(0, message.getMimeHeaders().size());
+        assertEquals(write(factory.createMessage()), write(message));
+    }
+
+    @Test
+    public void testResetWithoutHeader() throws Exception {
+        SOAPMessage message = factory.createMessage();
+        message.getSOAPHeader().detachNode();
+        message.reset();
+        assertEquals(write(factory.createMessage()), write(message));
+    }
+
+    @Test
+    public void testCopy() throws Exception {
+        SOAPMessage message = message();
+        SOAPMessage copy = message.copy();
+        assertEquals(write(message), write(copy));
+        assertEquals(1, copy.countAttachments());
+
+        // the copy does not share the envelope or the headers
+        copy.getSOAPBody().addChildElement("other", "m", "urn:m");
+        copy.getMimeHeaders().addHeader("X-Other", "x");
+        assertFalse(write(message).contains("other"));
+        assertNull(message.getMimeHeaders().getHeader("X-Other"));
+    }
+
+    @Test
+    public void testToByteBuffers() throws Exception {
+        SOAPMessage message = message();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : message.toByteBuffers()) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            out.write(bytes);
+        }
+        assertEquals(write(message), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testTransferTo() throws Exception {
+        SOAPMessage message = message();
+        String expected = write(message);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = message.transferTo(Channels.newChannel(out));
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(out.size(), written);
+
+        // gathering writes
+        Path file = Files.createTempFile("message", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                assertEquals(written, message.transferTo(channel));
+            }
+            assertEquals(expected, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testTransferToNonBlocking() throws Exception {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.sink().configureBlocking(false);
+            message().transferTo(pipe.sink());
+            fail("IllegalBlockingModeException expected");
+        } catch (IllegalBlockingModeException expected) {
+        } finally {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+    // a message with a body element, an attachment and a MIME header
+    private SOAPMessage message() throws SOAPException {
+        SOAPMessage message = factory.createMessage();
+        message.getSOAPBody().addChildElement("op", "m", "urn:m").addTextNode("x");
+        message.addAttachmentPart(message.createAttachmentPart("attached", "text/plain"));
+        message.getMimeHeaders().addHeader(MimeHeaders.SOAP_ACTION, "urn:a");
+        message.saveChanges();
+        return message;
+    }
+
+    private static String write(SOAPMessage message) throws SOAPException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SAAJMetaFactory;
+import jakarta.xml.soap.SOAPConstants;
+import jakarta.xml.soap.SOAPFactory;
+import saaj.factory.DomMetaFactory;
+import saaj.factory.ThreadSafeDomMetaFactory;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
+
+/*
+ * factories returned by MessageFactory.shared and SOAPFactory.shared
+ */
+public class SharedFactoryTest {
+
+    private static final String PROTOCOL = SOAPConstants.SOAP_1_1_PROTOCOL;
+
+    @After
+    public void tearDown() {
+        SAAJMetaFactory.setDefault(null);
+    }
+
+    @Test
+    public void testThreadSafe() throws Exception {
+        SAAJMetaFactory.setDefault(new ThreadSafeDomMetaFactory());
+        assertSame(MessageFactory.shared(PROTOCOL), MessageFactory.shared(PROTOCOL));
+        assertSame(SOAPFactory.shared(PROTOCOL), SOAPFactory.shared(PROTOCOL));
+        assertNotSame(MessageFactory.shared(PROTOCOL), MessageFactory.shared(SOAPConstants.SOAP_1_2_PROTOCOL));
+        assertNotSame(SOAPFactory.shared(PROTOCOL), SOAPFactory.shared(SOAPConstants.SOAP_1_2_PROTOCOL));
+    }
+
+    @Test
+    public void testNotThreadSafe() throws Exception {
+        SAAJMetaFactory.setDefault(new DomMetaFactory());
+        assertNotSame(MessageFactory.shared(PROTOCOL), MessageFactory.shared(PROTOCOL));
+        assertNotSame(SOAPFactory.shared(PROTOCOL), SOAPFactory.shared(PROTOCOL));
+    }
+
+    @Test
+    public void testSharedIsNotConfigurable() throws Exception {
+        SAAJMetaFactory.setDefault(new ThreadSafeDomMetaFactory());
+        MessageFactory shared = MessageFactory.shared(PROTOCOL);
+        try {
+            shared.setProperty(MessageFactory.LAZY_PARSING, "true");
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+        }
+        assertSame(shared, MessageFactory.shared(PROTOCOL));
+        assertEquals("false", shared.getProperty(MessageFactory.LAZY_PARSING));
+
+        // a factory of its own can be configured
+        MessageFactory own = MessageFactory.newInstance(PROTOCOL);
+        own.setProperty(MessageFactory.LAZY_PARSING, "true");
+        assertEquals("true", own.getProperty(MessageFactory.LAZY_PARSING));
+        assertEquals("false", shared.getProperty(MessageFactory.LAZY_PARSING));
+    }
+
+    @Test
+    public void testNotSharedIsConfigurable() throws Exception {
+        SAAJMetaFactory.setDefault(new DomMetaFactory());
+        MessageFactory factory = MessageFactory.shared(PROTOCOL);
+        factory.setProperty(MessageFactory.LAZY_PARSING, "true");
+        assertEquals("true", factory.getProperty(MessageFactory.LAZY_PARSING));
+        assertEquals("false", MessageFactory.shared(PROTOCOL).getProperty(MessageFactory.LAZY_PARSING));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package jakarta.xml.soap.test;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import jakarta.xml.soap.SAAJMetaFactory;
+import jakarta.xml.soap.SOAPConstants;
+import jakarta.xml.soap.WarmUpOptions;
+import saaj.factory.DomMetaFactory;
+import saaj.factory.ThreadSafeDomMetaFactory;
+
+import static junit.framework.TestCase.assertFalse;
+
+/*
+ * canned message cycles run by SAAJMetaFactory.warmUp
+ */
+public class WarmUpTest {
+
+    @After
+    public void tearDown() {
+        SAAJMetaFactory.setDefault(null);
+    }
+
+    @Test
+    public void testDefaults() throws Exception {
+        SAAJMetaFactory.setDefault(new DomMetaFactory());
+        Duration duration = SAAJMetaFactory.warmUp(null);
+        assertFalse(duration.isNegative());
+    }
+
+    @Test
+    public void testOptions() throws Exception {
+        SAAJMetaFactory.setDefault(new ThreadSafeDomMetaFactory());
+        WarmUpOptions options = new WarmUpOptions();
+        options.setProtocols(SOAPConstants.SOAP_1_2_PROTOCOL);
+        options.setIterations(3);
+        options.setAttachments(false);
+        assertFalse(SAAJMetaFactory.warmUp(options).isNegative());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package saaj.factory;
+
+import jakarta.activation.DataHandler;
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Attachment of {@link DomMessage}, supporting text content only
+ */
+public class DomAttachmentPart extends AttachmentPart {
+
+    private final MimeHeaders headers = new MimeHeaders();
+    private String content;
+
+    @Override
+    public int getSize() {
+        return content == null ? 0 : content.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Override
+    public void clearContent() {
+        content = null;
+    }
+
+    @Override
+    public Object getContent() throws SOAPException {
+        if (content == null)
+            throw new SOAPException("No content");
+        return content;
+    }
+
+    @Override
+    public InputStream getRawContent() throws SOAPException {
+        return new ByteArrayInputStream(getRawContentBytes());
+    }
+
+    @Override
+    public byte[] getRawContentBytes() throws SOAPException {
+        return ((String) getContent()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void setContent(Object object, String contentType) {
+        if (!(object instanceof String))
+            throw new IllegalArgumentException("Only text content is supported");
+        content = (String) object;
+        setContentType(contentType);
+    }
+
+    @Override public InputStream getBase64Content() { throw new UnsupportedOperationException(); }
+    @Override public void setRawContent(InputStream content, String contentType) { throw new UnsupportedOperationException(); }
+    @Override public void setRawContentBytes(byte[] content, int offset, int len, String contentType) { throw new UnsupportedOperationException(); }
+    @Override public void setBase64Content(InputStream content, String contentType) { throw new UnsupportedOperationException(); }
+    @Override public DataHandler getDataHandler() { throw new UnsupportedOperationException(); }
+    @Override public void setDataHandler(DataHandler dataHandler) { throw new UnsupportedOperationException(); }
+
+    @Override public void removeMimeHeader(String header) { headers.removeHeader(header); }
+    @Override public void removeAllMimeHeaders() { headers.removeAllHeaders(); }
+    @Override public String[] getMimeHeader(String name) { return headers.getHeader(name); }
+    @Override public void setMimeHeader(String name, String value) { headers.setHeader(name, value); }
+    @Override public void addMimeHeader(String name, String value) { headers.addHeader(name, value); }
+    @Override public Iterator<MimeHeader> getAllMimeHeaders() { return headers.getAllHeaders(); }
+    @Override public Iterator<MimeHeader> getMatchingMimeHeaders(String[] names) { return headers.getMatchingHeaders(names); }
+    @Override public Iterator<MimeHeader> getNonMatchingMimeHeaders(String[] names) { return headers.getNonMatchingHeaders(names); }
+}
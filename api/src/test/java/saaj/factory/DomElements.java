@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package saaj.factory;
+
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPEnvelope;
+import jakarta.xml.soap.SOAPHeader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * SOAP elements of {@link DomMessage}: proxies of the SAAJ interfaces which
+ * implement the few SAAJ methods the tests use on top of a DOM element
+ */
+final class DomElements implements InvocationHandler {
+
+    private final Element element;
+
+    private DomElements(Element element) {
+        this.element = element;
+    }
+
+    static SOAPElement wrap(Element element) {
+        Class<?> type = SOAPElement.class;
+        if (DomMessageFactory.isEnvelopeNamespace(element.getNamespaceURI())) {
+            switch (element.getLocalName()) {
+                case "Envelope":
+                    type = SOAPEnvelope.class;
+                    break;
+                case "Header":
+                    type = SOAPHeader.class;
+                    break;
+                case "Body":
+                    type = SOAPBody.class;
+                    break;
+                default:
+            }
+        }
+        return (SOAPElement) Proxy.newProxyInstance(DomElements.class.getClassLoader(),
+                new Class<?>[]{type}, new DomElements(element));
+    }
+
+    static Element unwrap(Object o) {
+        return ((DomElements) Proxy.getInvocationHandler(o)).element;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        int count = args == null ? 0 : args.length;
+        switch (method.getName()) {
+            case "equals":
+                return args[0] instanceof Proxy && Proxy.getInvocationHandler(args[0]) instanceof DomElements
+                        && unwrap(args[0]) == element;
+            case "hashCode":
+                return element.hashCode();
+            case "toString":
+                return "DomElement[" + element.getTagName() + "]";
+            case "getHeader":
+                return child("Header");
+            case "getBody":
+                return child("Body");
+            case "addHeader": {
+                Element header = create(element.getNamespaceURI(), element.getPrefix(), "Header");
+                element.insertBefore(header, element.getFirstChild());
+                return wrap(header);
+            }
+            case "addChildElement": {
+                Element child;
+                if (count == 1 && args[0] instanceof SOAPElement) {
+                    child = (Element) element.getOwnerDocument().importNode(unwrap(args[0]), true);
+                } else if (count == 3) {
+                    child = create((String) args[2], (String) args[1], (String) args[0]);
+                } else if (count == 1 && args[0] instanceof QName) {
+                    QName name = (QName) args[0];
+                    child = create(name.getNamespaceURI(), name.getPrefix(), name.getLocalPart());
+                } else {
+                    throw new UnsupportedOperationException(method.toString());
+                }
+                element.appendChild(child);
+                return wrap(child);
+            }
+            case "addTextNode":
+                element.appendChild(element.getOwnerDocument().createTextNode((String) args[0]));
+                return proxy;
+            case "getChildElements": {
+                List<Object> children = new ArrayList<>();
+                for (Node n = element.getFirstChild(); n != null; n = n.getNextSibling()) {
+                    if (n instanceof Element)
+                        children.add(wrap((Element) n));
+                }
+                return children.iterator();
+            }
+            case "removeContents":
+                while (element.getFirstChild() != null)
+                    element.removeChild(element.getFirstChild());
+                return null;
+            case "getElementQName":
+                return qname(element);
+            case "getAllAttributesAsQNames": {
+                List<QName> names = new ArrayList<>();
+                NamedNodeMap attributes = element.getAttributes();
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    Attr attr = (Attr) attributes.item(i);
+                    if (!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI()))
+                        names.add(qname(attr));
+                }
+                return names.iterator();
+            }
+            case "addAttribute":
+                if (args[0] instanceof QName) {
+                    QName name = (QName) args[0];
+                    element.setAttributeNS(nullIfEmpty(name.getNamespaceURI()), name.getPrefix().isEmpty()
+                            ? name.getLocalPart() : name.getPrefix() + ":" + name.getLocalPart(), (String) args[1]);
+                    return proxy;
+                }
+                throw new UnsupportedOperationException(method.toString());
+            case "removeAttribute":
+                if (args[0] instanceof QName) {
+                    QName name = (QName) args[0];
+                    boolean present = element.hasAttributeNS(nullIfEmpty(name.getNamespaceURI()), name.getLocalPart());
+                    element.removeAttributeNS(nullIfEmpty(name.getNamespaceURI()), name.getLocalPart());
+                    return present;
+                }
+                break;
+            case "addNamespaceDeclaration":
+                element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, ((String) args[0]).isEmpty()
+                        ? "xmlns" : "xmlns:" + args[0], (String) args[1]);
+                return proxy;
+            case "removeNamespaceDeclaration": {
+                String local = ((String) args[0]).isEmpty() ? "xmlns" : (String) args[0];
+                boolean present = element.hasAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, local);
+                element.removeAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, local);
+                return present;
+            }
+            case "getNamespacePrefixes": {
+                List<String> prefixes = new ArrayList<>();
+                NamedNodeMap attributes = element.getAttributes();
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    Attr attr = (Attr) attributes.item(i);
+                    if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI()))
+                        prefixes.add("xmlns".equals(attr.getLocalName()) ? "" : attr.getLocalName());
+                }
+                return prefixes.iterator();
+            }
+            case "getValue":
+                return element.getTextContent();
+            case "getParentElement":
+                return element.getParentNode() instanceof Element ? wrap((Element) element.getParentNode()) : null;
+            case "detachNode":
+                if (element.getParentNode() != null)
+                    element.getParentNode().removeChild(element);
+                return null;
+            case "recycleNode":
+                return null;
+            case "freeze":
+                return null;
+            case "isFrozen":
+                return false;
+            default:
+        }
+        if (method.getDeclaringClass().getPackageName().equals("org.w3c.dom")) {
+            if (args != null) {
+                for (int i = 0; i < args.length; i++) {
+                    if (args[i] instanceof Proxy && Proxy.getInvocationHandler(args[i]) instanceof DomElements)
+                        args[i] = unwrap(args[i]);
+                }
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        throw new UnsupportedOperationException(method.toString());
+    }
+
+    private Object child(String localName) {
+        for (Node n = element.getFirstChild(); n != null; n = n.getNextSibling()) {
+            if (n instanceof Element && localName.equals(n.getLocalName())
+                    && element.getNamespaceURI().equals(n.getNamespaceURI()))
+                return wrap((Element) n);
+        }
+        return null;
+    }
+
+    // creates a child element, declaring its namespace unless it is in scope
+    private Element create(String uri, String prefix, String localName) {
+        return DomMessageFactory.createElement(element.getOwnerDocument(), element, uri, prefix, localName);
+    }
+
+    private static QName qname(Node node) {
+        return new QName(node.getNamespaceURI() == null ? "" : node.getNamespaceURI(), node.getLocalName(),
+                node.getPrefix() == null ? "" : node.getPrefix());
+    }
+
+    private static String nullIfEmpty(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package saaj.factory;
+
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPConstants;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPHeader;
+import jakarta.xml.soap.SOAPMessage;
+import jakarta.xml.soap.SOAPPart;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.w3c.dom.Document;
+
+/**
+ * Message of {@link DomMessageFactory}
+ */
+public class DomMessage extends SOAPMessage {
+
+    private final DomSOAPPart soapPart;
+    private final List<AttachmentPart> attachments = new ArrayList<>();
+    private final MimeHeaders headers = new MimeHeaders();
+    private String description;
+    private boolean saveRequired = true;
+
+    DomMessage(Document document) {
+        soapPart = new DomSOAPPart(document);
+    }
+
+    @Override
+    public SOAPPart getSOAPPart() {
+        return soapPart;
+    }
+
+    @Override
+    public SOAPBody getSOAPBody() throws SOAPException {
+        return soapPart.getEnvelope().getBody();
+    }
+
+    @Override
+    public SOAPHeader getSOAPHeader() throws SOAPException {
+        return soapPart.getEnvelope().getHeader();
+    }
+
+    @Override
+    public void setContentDescription(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String getContentDescription() {
+        return description;
+    }
+
+    @Override
+    public void removeAllAttachments() {
+        attachments.clear();
+        saveRequired = true;
+    }
+
+    @Override
+    public int countAttachments() {
+        return attachments.size();
+    }
+
+    @Override
+    public Iterator<AttachmentPart> getAttachments() {
+        return attachments.iterator();
+    }
+
+    @Override
+    public Iterator<AttachmentPart> getAttachments(MimeHeaders headers) {
+        List<AttachmentPart> matching = new ArrayList<>();
+        for (AttachmentPart attachment : attachments) {
+            if (matches(attachment, headers))
+                matching.add(attachment);
+        }
+        return matching.iterator();
+    }
+
+    @Override
+    public void removeAttachments(MimeHeaders headers) {
+        attachments.removeIf(attachment -> matches(attachment, headers));
+        saveRequired = true;
+    }
+
+    @Override
+    public AttachmentPart getAttachment(SOAPElement element) {
+        return null;
+    }
+
+    @Override
+    public void addAttachmentPart(AttachmentPart attachmentPart) {
+        attachments.add(attachmentPart);
+        saveRequired = true;
+    }
+
+    @Override
+    public AttachmentPart createAttachmentPart() {
+        return new DomAttachmentPart();
+    }
+
+    @Override
+    public MimeHeaders getMimeHeaders() {
+        return headers;
+    }
+
+    @Override
+    public void saveChanges() throws SOAPException {
+        String type = SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE.equals(soapPart.getEnvelope().getNamespaceURI())
+                ? SOAPConstants.SOAP_1_2_CONTENT_TYPE : SOAPConstants.SOAP_1_1_CONTENT_TYPE;
+        headers.setHeader(MimeHeaders.CONTENT_TYPE, attachments.isEmpty() ? type
+                : "multipart/related; type=\"" + type + "\"; boundary=\"" + DomMessageFactory.BOUNDARY + "\"");
+        saveRequired = false;
+    }
+
+    @Override
+    public boolean saveRequired() {
+        return saveRequired;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws SOAPException, IOException {
+        if (saveRequired)
+            saveChanges();
+        if (attachments.isEmpty()) {
+            DomMessageFactory.serialize(soapPart.document, out);
+            return;
+        }
+        String delimiter = "--" + DomMessageFactory.BOUNDARY + "\r\n";
+        out.write(delimiter.getBytes(StandardCharsets.US_ASCII));
+        MimeHeaders partHeaders = new MimeHeaders();
+        partHeaders.addHeader(MimeHeaders.CONTENT_TYPE, "text/xml");
+        partHeaders.writeTo(out);
+        DomMessageFactory.serialize(soapPart.document, out);
+        for (AttachmentPart attachment : attachments) {
+            out.write(("\r\n" + delimiter).getBytes(StandardCharsets.US_ASCII));
+            partHeaders = new MimeHeaders();
+            for (Iterator<MimeHeader> it = attachment.getAllMimeHeaders(); it.hasNext(); ) {
+                MimeHeader header = it.next();
+                partHeaders.addHeader(header.getName(), header.getValue());
+            }
+            partHeaders.writeTo(out);
+            out.write(attachment.getRawContentBytes());
+        }
+        out.write(("\r\n--" + DomMessageFactory.BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static boolean matches(AttachmentPart attachment, MimeHeaders headers) {
+        for (Iterator<MimeHeader> it = headers.getAllHeaders(); it.hasNext(); ) {
+            MimeHeader header = it.next();
+            String[] values = attachment.getMimeHeader(header.getName());
+            if (values == null || !List.of(values).contains(header.getValue()))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package saaj.factory;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPConstants;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Message factory of a minimal DOM based SAAJ implementation, good enough to
+ * run the default methods of the API against real messages
+ */
+public class DomMessageFactory extends MessageFactory {
+
+    static final String BOUNDARY = "saaj-test-boundary";
+
+    private final String protocol;
+
+    public DomMessageFactory(String protocol) {
+        this.protocol = protocol;
+    }
+
+    @Override
+    public SOAPMessage createMessage() throws SOAPException {
+        if (SOAPConstants.DYNAMIC_SOAP_PROTOCOL.equals(protocol))
+            throw new UnsupportedOperationException();
+        Document document = newDocument();
+        Element envelope = createElement(document, null, envelopeNamespace(protocol), "env", "Envelope");
+        document.appendChild(envelope);
+        envelope.appendChild(createElement(document, envelope, envelope.getNamespaceURI(), "env", "Header"));
+        envelope.appendChild(createElement(document, envelope, envelope.getNamespaceURI(), "env", "Body"));
+        return new DomMessage(document);
+    }
+
+    @Override
+    public SOAPMessage createMessage(MimeHeaders headers, InputStream in) throws IOException, SOAPException {
+        byte[] content = in.readAllBytes();
+        String contentType = headers == null ? null : headers.getFirstHeader(MimeHeaders.CONTENT_TYPE);
+        DomMessage message;
+        if (contentType != null && contentType.startsWith("multipart/")) {
+            String delimiter = "\r\n--" + BOUNDARY;
+            String text = new String(content, StandardCharsets.ISO_8859_1);
+            int start = text.indexOf("--" + BOUNDARY) + BOUNDARY.length() + 4;
+            int end = text.indexOf(delimiter, start);
+            ByteBuffer part = ByteBuffer.wrap(content, start, end - start);
+            MimeHeaders.parse(part);
+            message = new DomMessage(parse(content, part.position(), end - part.position()));
+            while (!text.startsWith("--", end + delimiter.length())) {
+                start = end + delimiter.length() + 2;
+                end = text.indexOf(delimiter, start);
+                part = ByteBuffer.wrap(content, start, end - start);
+                MimeHeaders partHeaders = MimeHeaders.parse(part);
+                DomAttachmentPart attachment = new DomAttachmentPart();
+                attachment.setContent(new String(content, part.position(), end - part.position(), StandardCharsets.UTF_8),
+                        partHeaders.getFirstHeader(MimeHeaders.CONTENT_TYPE));
+                message.addAttachmentPart(attachment);
+            }
+        } else {
+            message = new DomMessage(parse(content, 0, content.length));
+        }
+        if (headers != null) {
+            for (Iterator<MimeHeader> it = headers.getAllHeaders(); it.hasNext(); ) {
+                MimeHeader header = it.next();
+                message.getMimeHeaders().addHeader(header.getName(), header.getValue());
+            }
+        }
+        return message;
+    }
+
+    static boolean isEnvelopeNamespace(String uri) {
+        return SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE.equals(uri) || SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE.equals(uri);
+    }
+
+    static String envelopeNamespace(String protocol) {
+        return SOAPConstants.SOAP_1_2_PROTOCOL.equals(protocol)
+                ? SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE : SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE;
+    }
+
+    // creates an element, declaring its namespace unless it is in scope of the given node
+    static Element createElement(Document document, Node scope, String uri, String prefix, String localName) {
+        uri = uri == null || uri.isEmpty() ? null : uri;
+        prefix = prefix == null || prefix.isEmpty() ? null : prefix;
+        Element element = document.createElementNS(uri, prefix == null ? localName : prefix + ":" + localName);
+        String inScope = scope == null ? null : scope.lookupNamespaceURI(prefix);
+        if (uri != null && !uri.equals(inScope)) {
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                    prefix == null ? "xmlns" : "xmlns:" + prefix, uri);
+        }
+        return element;
+    }
+
+    static Document newDocument() throws SOAPException {
+        try {
+            return builderFactory().newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new SOAPException(e);
+        }
+    }
+
+    static void serialize(Document document, OutputStream out) throws SOAPException {
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            transformer.transform(new DOMSource(document), new StreamResult(out));
+        } catch (TransformerException e) {
+            throw new SOAPException(e);
+        }
+    }
+
+    private static Document parse(byte[] content, int offset, int length) throws IOException, SOAPException {
+        try {
+            return builderFactory().newDocumentBuilder().parse(new ByteArrayInputStream(content, offset, length));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new SOAPException(e);
+        }
+    }
+
+    private static DocumentBuilderFactory builderFactory() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package saaj.factory;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SAAJMetaFactory;
+import jakarta.xml.soap.SOAPFactory;
+
+/**
+ * Meta factory of a minimal DOM based SAAJ implementation, whose factories
+ * are not declared thread safe
+ */
+public class DomMetaFactory extends SAAJMetaFactory {
+
+    @Override
+    protected MessageFactory newMessageFactory(String protocol) {
+        return new DomMessageFactory(protocol);
+    }
+
+    @Override
+    protected SOAPFactory newSOAPFactory(String protocol) {
+        return new DomSOAPFactory();
+    }
+}
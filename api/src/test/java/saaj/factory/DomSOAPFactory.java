@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package saaj.factory;
+
+import jakarta.xml.soap.Detail;
+import jakarta.xml.soap.Name;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPFactory;
+import jakarta.xml.soap.SOAPFault;
+import javax.xml.namespace.QName;
+import org.w3c.dom.Document;
+
+/**
+ * SOAP factory of the DOM based test implementation, creating elements only
+ */
+public class DomSOAPFactory extends SOAPFactory {
+
+    @Override
+    public SOAPElement createElement(Name name) throws SOAPException {
+        return createElement(name.getLocalName(), name.getPrefix(), name.getURI());
+    }
+
+    @Override
+    public SOAPElement createElement(String localName) throws SOAPException {
+        return createElement(localName, null, null);
+    }
+
+    @Override
+    public SOAPElement createElement(String localName, String prefix, String uri) throws SOAPException {
+        Document document = DomMessageFactory.newDocument();
+        return DomElements.wrap(DomMessageFactory.createElement(document, null, uri, prefix, localName));
+    }
+
+    @Override public Detail createDetail() { throw new UnsupportedOperationException(); }
+    @Override public SOAPFault createFault(String reasonText, QName faultCode) { throw new UnsupportedOperationException(); }
+    @Override public SOAPFault createFault() { throw new UnsupportedOperationException(); }
+    @Override public Name createName(String localName, String prefix, String uri) { throw new UnsupportedOperationException(); }
+    @Override public Name createName(String localName) { throw new UnsupportedOperationException(); }
+}
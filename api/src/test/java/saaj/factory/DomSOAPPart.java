@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package saaj.factory;
+
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPEnvelope;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPPart;
+import java.util.Iterator;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import org.w3c.dom.Attr;
+import org.w3c.dom.CDATASection;
+import org.w3c.dom.Comment;
+import org.w3c.dom.DOMConfiguration;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentFragment;
+import org.w3c.dom.DocumentType;
+import org.w3c.dom.Element;
+import org.w3c.dom.EntityReference;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.ProcessingInstruction;
+import org.w3c.dom.Text;
+import org.w3c.dom.UserDataHandler;
+
+/**
+ * SOAP part of {@link DomMessage}, delegating to a DOM document
+ */
+public class DomSOAPPart extends SOAPPart {
+
+    private final MimeHeaders headers = new MimeHeaders();
+    Document document;
+
+    DomSOAPPart(Document document) {
+        this.document = document;
+    }
+
+    @Override
+    public SOAPEnvelope getEnvelope() throws SOAPException {
+        return (SOAPEnvelope) DomElements.wrap(document.getDocumentElement());
+    }
+
+    @Override
+    public void setContent(Source source) throws SOAPException {
+        if (!(source instanceof DOMSource) || !(((DOMSource) source).getNode() instanceof Document))
+            throw new SOAPException("Only DOM documents are supported");
+        document = (Document) ((DOMSource) source).getNode();
+    }
+
+    @Override
+    public Source getContent() {
+        return new DOMSource(document);
+    }
+
+    @Override public void removeMimeHeader(String header) { headers.removeHeader(header); }
+    @Override public void removeAllMimeHeaders() { headers.removeAllHeaders(); }
+    @Override public String[] getMimeHeader(String name) { return headers.getHeader(name); }
+    @Override public void setMimeHeader(String name, String value) { headers.setHeader(name, value); }
+    @Override public void addMimeHeader(String name, String value) { headers.addHeader(name, value); }
+    @Override public Iterator<MimeHeader> getAllMimeHeaders() { return headers.getAllHeaders(); }
+    @Override public Iterator<MimeHeader> getMatchingMimeHeaders(String[] names) { return headers.getMatchingHeaders(names); }
+    @Override public Iterator<MimeHeader> getNonMatchingMimeHeaders(String[] names) { return headers.getNonMatchingHeaders(names); }
+
+    @Override public String getValue() { return null; }
+    @Override public void setValue(String value) { throw new IllegalStateException(); }
+    @Override public void setParentElement(SOAPElement parent) { throw new IllegalStateException(); }
+    @Override public SOAPElement getParentElement() { return null; }
+    @Override public void detachNode() { }
+    @Override public void recycleNode() { }
+
+    @Override public Node adoptNode(Node a0) throws DOMException { return document.adoptNode(a0); }
+    @Override public Node appendChild(Node a0) throws DOMException { return document.appendChild(a0); }
+    @Override public Node cloneNode(boolean a0) { return document.cloneNode(a0); }
+    @Override public short compareDocumentPosition(Node a0) throws DOMException { return document.compareDocumentPosition(a0); }
+    @Override public Attr createAttributeNS(String a0, String a1) throws DOMException { return document.createAttributeNS(a0, a1); }
+    @Override public Attr createAttribute(String a0) throws DOMException { return document.createAttribute(a0); }
+    @Override public CDATASection createCDATASection(String a0) throws DOMException { return document.createCDATASection(a0); }
+    @Override public Comment createComment(String a0) { return document.createComment(a0); }
+    @Override public DocumentFragment createDocumentFragment() { return document.createDocumentFragment(); }
+    @Override public Element createElementNS(String a0, String a1) throws DOMException { return document.createElementNS(a0, a1); }
+    @Override public Element createElement(String a0) throws DOMException { return document.createElement(a0); }
+    @Override public EntityReference createEntityReference(String a0) throws DOMException { return document.createEntityReference(a0); }
+    @Override public ProcessingInstruction createProcessingInstruction(String a0, String a1) throws DOMException { return document.createProcessingInstruction(a0, a1); }
+    @Override public Text createTextNode(String a0) { return document.createTextNode(a0); }
+    @Override public NamedNodeMap getAttributes() { return document.getAttributes(); }
+    @Override public String getBaseURI() { return document.getBaseURI(); }
+    @Override public NodeList getChildNodes() { return document.getChildNodes(); }
+    @Override public DocumentType getDoctype() { return document.getDoctype(); }
+    @Override public Element getDocumentElement() { return document.getDocumentElement(); }
+    @Override public String getDocumentURI() { return document.getDocumentURI(); }
+    @Override public DOMConfiguration getDomConfig() { return document.getDomConfig(); }
+    @Override public Element getElementById(String a0) { return document.getElementById(a0); }
+    @Override public NodeList getElementsByTagNameNS(String a0, String a1) { return document.getElementsByTagNameNS(a0, a1); }
+    @Override public NodeList getElementsByTagName(String a0) { return document.getElementsByTagName(a0); }
+    @Override public Object getFeature(String a0, String a1) { return document.getFeature(a0, a1); }
+    @Override public Node getFirstChild() { return document.getFirstChild(); }
+    @Override public DOMImplementation getImplementation() { return document.getImplementation(); }
+    @Override public String getInputEncoding() { return document.getInputEncoding(); }
+    @Override public Node getLastChild() { return document.getLastChild(); }
+    @Override public String getLocalName() { return document.getLocalName(); }
+    @Override public String getNamespaceURI() { return document.getNamespaceURI(); }
+    @Override public Node getNextSibling() { return document.getNextSibling(); }
+    @Override public String getNodeName() { return document.getNodeName(); }
+    @Override public short getNodeType() { return document.getNodeType(); }
+    @Override public String getNodeValue() throws DOMException { return document.getNodeValue(); }
+    @Override public Document getOwnerDocument() { return document.getOwnerDocument(); }
+    @Override public Node getParentNode() { return document.getParentNode(); }
+    @Override public String getPrefix() { return document.getPrefix(); }
+    @Override public Node getPreviousSibling() { return document.getPreviousSibling(); }
+    @Override public boolean getStrictErrorChecking() { return document.getStrictErrorChecking(); }
+    @Override public String getTextContent() throws DOMException { return document.getTextContent(); }
+    @Override public Object getUserData(String a0) { return document.getUserData(a0); }
+    @Override public String getXmlEncoding() { return document.getXmlEncoding(); }
+    @Override public boolean getXmlStandalone() { return document.getXmlStandalone(); }
+    @Override public String getXmlVersion() { return document.getXmlVersion(); }
+    @Override public boolean hasAttributes() { return document.hasAttributes(); }
+    @Override public boolean hasChildNodes() { return document.hasChildNodes(); }
+    @Override public Node importNode(Node a0, boolean a1) throws DOMException { return document.importNode(a0, a1); }
+    @Override public Node insertBefore(Node a0, Node a1) throws DOMException { return document.insertBefore(a0, a1); }
+    @Override public boolean isDefaultNamespace(String a0) { return document.isDefaultNamespace(a0); }
+    @Override public boolean isEqualNode(Node a0) { return document.isEqualNode(a0); }
+    @Override public boolean isSameNode(Node a0) { return document.isSameNode(a0); }
+    @Override public boolean isSupported(String a0, String a1) { return document.isSupported(a0, a1); }
+    @Override public String lookupNamespaceURI(String a0) { return document.lookupNamespaceURI(a0); }
+    @Override public String lookupPrefix(String a0) { return document.lookupPrefix(a0); }
+    @Override public void normalizeDocument() { document.normalizeDocument(); }
+    @Override public void normalize() { document.normalize(); }
+    @Override public Node removeChild(Node a0) throws DOMException { return document.removeChild(a0); }
+    @Override public Node renameNode(Node a0, String a1, String a2) throws DOMException { return document.renameNode(a0, a1, a2); }
+    @Override public Node replaceChild(Node a0, Node a1) throws DOMException { return document.replaceChild(a0, a1); }
+    @Override public void setDocumentURI(String a0) { document.setDocumentURI(a0); }
+    @Override public void setNodeValue(String a0) throws DOMException { document.setNodeValue(a0); }
+    @Override public void setPrefix(String a0) throws DOMException { document.setPrefix(a0); }
+    @Override public void setStrictErrorChecking(boolean a0) { document.setStrictErrorChecking(a0); }
+    @Override public void setTextContent(String a0) throws DOMException { document.setTextContent(a0); }
+    @Override public Object setUserData(String a0, Object a1, UserDataHandler a2) { return document.setUserData(a0, a1, a2); }
+    @Override public void setXmlStandalone(boolean a0) throws DOMException { document.setXmlStandalone(a0); }
+    @Override public void setXmlVersion(String a0) throws DOMException { document.setXmlVersion(a0); }
+}
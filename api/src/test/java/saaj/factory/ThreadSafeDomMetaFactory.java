@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package saaj.factory;
+
+/**
+ * Meta factory of the DOM based test implementation, whose factories are
+ * declared thread safe
+ */
+public class ThreadSafeDomMetaFactory extends DomMetaFactory {
+
+    @Override
+    protected boolean isThreadSafe() {
+        return true;
+    }
+}
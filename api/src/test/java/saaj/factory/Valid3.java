@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -12,6 +12,7 @@ package saaj.factory;
 
 import jakarta.xml.soap.MessageFactory;
 import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.ProviderPriority;
 import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
 import java.io.IOException;
@@ -20,7 +21,9 @@ import java.io.InputStream;
 /**
  * (Another) Valid implementation class for tests
  * - several implementations necessary to test different configuration approaches
+ * - ranked above the other implementations
  */
+@ProviderPriority(1)
 public class Valid3 extends MessageFactory {
     @Override
     public SOAPMessage createMessage() throws SOAPException {
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.eclipse.ee4j.saaj.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Scans the runtime class path of the project for implementations of the
+ * SAAJ factories and writes the discovery index the SAAJ lookup procedure
+ * reads instead of scanning the service configuration files at runtime.
+ * <p>
+ * Only implementations declared in {@code META-INF/services} are indexed;
+ * implementations declared in {@code module-info} are still found by
+ * {@code java.util.ServiceLoader} at runtime. A factory whose implementations
+ * cannot all be loaded at build time is not indexed either.
+ */
+@Mojo(name = "index",
+        defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,
+        threadSafe = true)
+public class IndexMojo extends AbstractMojo {
+
+    /**
+     * Location of the index, must match the one read by the SAAJ API.
+     */
+    static final String INDEX = "META-INF/jakarta.xml.soap/providers.properties";
+
+    private static final String[] FACTORIES = {
+            "jakarta.xml.soap.MessageFactory",
+            "jakarta.xml.soap.SOAPFactory",
+            "jakarta.xml.soap.SOAPConnectionFactory",
+            "jakarta.xml.soap.SAAJMetaFactory"
+    };
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * Directory the index is written to.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * Skips the generation of the index.
+     */
+    @Parameter(property = "saaj.index.skip", defaultValue = "false")
+    private boolean skip;
+
+    /**
+     * Default constructor.
+     */
+    public IndexMojo() {
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping SAAJ discovery index");
+            return;
+        }
+
+        Map<String, String> index = new TreeMap<>();
+        // only the runtime class path is scanned, but the implementation classes are
+        // loaded with the compile class path too, where a provided SAAJ API is
+        try (URLClassLoader loader = new URLClassLoader(classPath(false), ClassLoader.getPlatformClassLoader());
+             URLClassLoader typeLoader = new URLClassLoader(classPath(true), ClassLoader.getPlatformClassLoader())) {
+            ProviderScanner scanner = new ProviderScanner(loader, typeLoader);
+            for (String factory : FACTORIES) {
+                String winner;
+                try {
+                    winner = scanner.winner(factory);
+                } catch (ClassNotFoundException e) {
+                    // cannot rank the implementations, leave them on ServiceLoader at runtime
+                    getLog().warn("Not indexing " + factory + ", implementation " + e.getMessage()
+                            + " cannot be loaded: " + e.getCause());
+                    continue;
+                }
+                if (winner != null) {
+                    getLog().debug("Indexing " + factory + " -> " + winner);
+                    index.put(factory, winner);
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot scan the class path for SAAJ implementations", e);
+        }
+
+        Path file = outputDirectory.toPath().resolve(INDEX);
+        try {
+            if (index.isEmpty()) {
+                // do not leave a stale index behind
+                Files.deleteIfExists(file);
+                getLog().info("No SAAJ implementation found, no discovery index written");
+                return;
+            }
+            write(file, index);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot write " + file, e);
+        }
+        getLog().info("SAAJ discovery index with " + index.size() + " entries written to " + file);
+    }
+
+    private URL[] classPath(boolean withCompile) throws MojoExecutionException {
+        try {
+            Set<String> elements = new LinkedHashSet<>(project.getRuntimeClasspathElements());
+            if (withCompile) {
+                elements.addAll(project.getCompileClasspathElements());
+            }
+            List<URL> urls = new ArrayList<>(elements.size());
+            for (String element : elements) {
+                urls.add(new File(element).toURI().toURL());
+            }
+            return urls.toArray(new URL[0]);
+        } catch (DependencyResolutionRequiredException | MalformedURLException e) {
+            throw new MojoExecutionException("Cannot resolve the runtime class path", e);
+        }
+    }
+
+    // no timestamp, so that builds stay reproducible
+    private static void write(Path file, Map<String, String> index) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            w.write("# Jakarta SOAP with Attachments discovery index, generated at build time\n");
+            for (Map.Entry<String, String> e : index.entrySet()) {
+                w.write(e.getKey());
+                w.write('=');
+                w.write(e.getValue());
+                w.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.eclipse.ee4j.saaj.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the implementations of SAAJ factories in service configuration
+ * files, and ranks them the same way the {@code java.util.ServiceLoader}
+ * step of the SAAJ lookup procedure does.
+ */
+final class ProviderScanner {
+
+    private static final String SERVICES = "META-INF/services/";
+
+    private static final String PRIORITY = "jakarta.xml.soap.ProviderPriority";
+
+    private final ClassLoader loader;
+
+    private final ClassLoader typeLoader;
+
+    /**
+     * Creates a scanner.
+     *
+     * @param loader     class loader over the scanned class path
+     * @param typeLoader class loader the implementation classes are loaded from to
+     *                   read their priority; it must also see the classes the scanned
+     *                   class path does not include, such as a {@code provided} SAAJ API
+     */
+    ProviderScanner(ClassLoader loader, ClassLoader typeLoader) {
+        this.loader = loader;
+        this.typeLoader = typeLoader;
+    }
+
+    /**
+     * Returns the names of all implementations of the given factory,
+     * in class path order.
+     *
+     * @param factoryName name of the factory class
+     * @return the implementation class names, may be empty
+     * @throws IOException if a service configuration file cannot be read
+     */
+    List<String> providers(String factoryName) throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        Enumeration<URL> configs = loader.getResources(SERVICES + factoryName);
+        while (configs.hasMoreElements()) {
+            URL config = configs.nextElement();
+            try (InputStream in = config.openStream();
+                 BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    if (comment >= 0) {
+                        line = line.substring(0, comment);
+                    }
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        names.add(line);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Returns the implementation of the given factory which the lookup
+     * procedure would instantiate.
+     *
+     * @param factoryName name of the factory class
+     * @return the implementation class name, {@code null} if there is none
+     * @throws IOException if a service configuration file cannot be read
+     * @throws ClassNotFoundException if an implementation class, or a class it
+     *                                depends on, cannot be loaded
+     */
+    String winner(String factoryName) throws IOException, ClassNotFoundException {
+        String winner = null;
+        int winnerPriority = 0;
+        for (String name : providers(factoryName)) {
+            int priority = priority(load(name));
+            if (winner == null || priority > winnerPriority) {
+                winner = name;
+                winnerPriority = priority;
+            }
+        }
+        return winner;
+    }
+
+    private Class<?> load(String name) throws ClassNotFoundException {
+        try {
+            return Class.forName(name, false, typeLoader);
+        } catch (LinkageError e) {
+            // typically NoClassDefFoundError for the factory class the implementation extends
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+    // the annotation is matched by name, the plugin does not depend on the API
+    private static int priority(Class<?> type) {
+        for (Annotation a : type.getAnnotations()) {
+            if (PRIORITY.equals(a.annotationType().getName())) {
+                try {
+                    return (Integer) a.annotationType().getMethod("value").invoke(a);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Cannot read " + PRIORITY + " of " + type.getName(), e);
+                }
+            }
+        }
+        return 0;
+    }
+}
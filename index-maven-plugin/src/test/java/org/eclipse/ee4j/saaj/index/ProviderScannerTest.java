@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.eclipse.ee4j.saaj.index;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import jakarta.xml.soap.ProviderPriority;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProviderScannerTest {
+
+    private static final String FACTORY = "jakarta.xml.soap.MessageFactory";
+
+    private static final String LOW = Low.class.getName();
+    private static final String HIGH = High.class.getName();
+    private static final String ORPHAN = Orphan.class.getName();
+
+    private Path dir;
+    private URLClassLoader loader;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("saaj-index");
+        loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, ProviderScannerTest.class.getClassLoader());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        loader.close();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testProviders() throws IOException {
+        services("# implementations\n\n" + LOW + " # the first one\n" + HIGH + "\n" + LOW + "\n");
+        ProviderScanner scanner = new ProviderScanner(loader, loader);
+        assertEquals(Arrays.asList(LOW, HIGH), scanner.providers(FACTORY));
+    }
+
+    @Test
+    public void testNoProvider() throws Exception {
+        ProviderScanner scanner = new ProviderScanner(loader, loader);
+        assertTrue(scanner.providers(FACTORY).isEmpty());
+        assertNull(scanner.winner(FACTORY));
+    }
+
+    @Test
+    public void testHighestPriorityWins() throws Exception {
+        services(LOW + "\n" + HIGH + "\n");
+        assertEquals(HIGH, new ProviderScanner(loader, loader).winner(FACTORY));
+    }
+
+    @Test
+    public void testFirstOfEqualPriorityWins() throws Exception {
+        services(LOW + "\n" + Other.class.getName() + "\n");
+        assertEquals(LOW, new ProviderScanner(loader, loader).winner(FACTORY));
+    }
+
+    @Test
+    public void testMissingClass() throws IOException {
+        services(LOW + "\ngone.Impl\n");
+        try {
+            new ProviderScanner(loader, loader).winner(FACTORY);
+            fail("ClassNotFoundException expected");
+        } catch (ClassNotFoundException e) {
+            assertEquals("gone.Impl", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMissingSuperclass() throws IOException {
+        // the class is there, but not the class it extends, as with a provided SAAJ API
+        Path classFile = dir.resolve(ORPHAN.replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParent());
+        try (InputStream in = ProviderScannerTest.class.getResourceAsStream(classFile.getFileName().toString())) {
+            Files.copy(in, classFile);
+        }
+        services(ORPHAN + "\n");
+        try (URLClassLoader typeLoader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, ClassLoader.getPlatformClassLoader())) {
+            new ProviderScanner(loader, typeLoader).winner(FACTORY);
+            fail("ClassNotFoundException expected");
+        } catch (ClassNotFoundException e) {
+            assertEquals(ORPHAN, e.getMessage());
+            assertTrue(e.getCause() instanceof NoClassDefFoundError);
+        }
+    }
+
+    private void services(String content) throws IOException {
+        Path file = dir.resolve("META-INF/services/" + FACTORY);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes());
+    }
+
+    public static class Low {
+    }
+
+    public static class Other {
+    }
+
+    @ProviderPriority(5)
+    public static class High {
+    }
+
+    public static class Base {
+    }
+
+    public static class Orphan extends Base {
+    }
+}